@@ -0,0 +1,30 @@
+package meetona.attendance;
+
+import jakarta.persistence.*;
+import lombok.*;
+import meetona.meeting.Meeting;
+import meetona.member.Member;
+import meetona.shared.entity.BaseEntity;
+
+/**
+ * One member's presence at one meeting. Rows are written in batches by {@link CheckInBuffer}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "attendance")
+@Table(
+        name = "attendances",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"meeting_id", "member_id"}))
+@EqualsAndHashCode(callSuper = false)
+public class Attendance extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "meeting_id", referencedColumnName = "id")
+    private Meeting meeting;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "member_id", referencedColumnName = "id")
+    private Member member;
+}
@@ -0,0 +1,56 @@
+package meetona.attendance;
+
+import jakarta.validation.Valid;
+import meetona.shared.response.ApiResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/attendance")
+public class AttendanceController {
+
+    private final IAttendanceService attendanceService;
+
+    public AttendanceController(IAttendanceService attendanceService) {
+        this.attendanceService = attendanceService;
+    }
+
+    @GetMapping(value = "/meeting/{meetingId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getByMeeting(
+            @PathVariable("meetingId") UUID meetingId,
+            @PageableDefault(size = 50) Pageable pageable
+    ) {
+        return ResponseEntity.ok(attendanceService.getByMeeting(meetingId, pageable));
+    }
+
+    /**
+     * Accepts a check-in for asynchronous recording. Checking in twice is harmless.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<AttendanceDto>> checkIn(@Valid @RequestBody AttendanceRequest request) {
+        return ResponseEntity.accepted().body(attendanceService.checkIn(request));
+    }
+
+    @GetMapping(value = "/rollups", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<AttendanceRollupDto>>> getRollups(
+            @RequestParam("unitId") UUID unitId,
+            @RequestParam(value = "period", defaultValue = "week") String period,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(attendanceService.getRollups(unitId, RollupPeriod.of(period), from, to));
+    }
+
+    @PostMapping(value = "/rollups/backfill", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Long>> backfillRollups() {
+        return ResponseEntity.ok(attendanceService.backfillRollups());
+    }
+}
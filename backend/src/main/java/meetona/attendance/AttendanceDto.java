@@ -0,0 +1,11 @@
+package meetona.attendance;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+public record AttendanceDto(
+        UUID meetingId,
+        UUID memberId,
+        Instant checkedInAt
+) implements Serializable { }
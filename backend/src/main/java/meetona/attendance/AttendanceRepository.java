@@ -0,0 +1,19 @@
+package meetona.attendance;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
+
+    @Query("""
+            select new meetona.attendance.AttendanceDto(a.meeting.id, a.member.id, a.createdDate)
+              from attendance a
+             where a.meeting.id = :meetingId
+             order by a.createdDate, a.id""")
+    List<AttendanceDto> findDtosByMeetingId(@Param("meetingId") UUID meetingId, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package meetona.attendance;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record AttendanceRequest(
+
+        @NotNull(message = "Meeting must not be blank")
+        UUID meetingId,
+
+        @NotNull(message = "Member must not be blank")
+        UUID memberId
+
+) implements Serializable { }
@@ -0,0 +1,15 @@
+package meetona.attendance;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Attendance of one unit in one bucket. {@code absent} counts, over all meetings of the bucket,
+ * the unit's current members who were not recorded as attending.
+ */
+public record AttendanceRollupDto(
+        LocalDate bucketStart,
+        long meetings,
+        long attended,
+        long absent
+) implements Serializable { }
@@ -0,0 +1,138 @@
+package meetona.attendance;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Meeting and attendance totals per unit and {@link RollupPeriod} bucket, kept up to date as
+ * meetings and check-ins are written so dashboards never aggregate over {@code meetings}.
+ * <p>
+ * Changes are applied as signed deltas inside the caller's transaction. Writers of a unit's rollups
+ * serialize on a transaction-scoped advisory lock, so a {@link #rebuild} never interleaves with deltas.
+ * Buckets are computed by the database from the meeting date in both paths, and archived meetings
+ * keep counting.
+ */
+@Component
+public class AttendanceRollups {
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String UPSERT = """
+            INSERT INTO attendance_rollups (unit_id, period, bucket_start, meeting_count, attendance_count)
+            VALUES (?, ?, CAST(date_trunc(?, CAST(? AS TIMESTAMP)) AS DATE), ?, ?)
+            ON CONFLICT (unit_id, period, bucket_start) DO UPDATE
+               SET meeting_count = attendance_rollups.meeting_count + EXCLUDED.meeting_count,
+                   attendance_count = attendance_rollups.attendance_count + EXCLUDED.attendance_count""";
+
+    private static final String DELETE = "DELETE FROM attendance_rollups WHERE unit_id = ?";
+
+    private static final String REBUILD = """
+            INSERT INTO attendance_rollups (unit_id, period, bucket_start, meeting_count, attendance_count)
+            SELECT unit_id, ?, CAST(date_trunc(?, CAST(meeting_date AS TIMESTAMP)) AS DATE), count(*), sum(member_count)
+              FROM (SELECT unit_id, meeting_date, member_count FROM meetings WHERE unit_id = ?
+                    UNION ALL
+                    SELECT unit_id, meeting_date, member_count FROM meetings_archive WHERE unit_id = ?) m
+             GROUP BY unit_id, CAST(date_trunc(?, CAST(meeting_date AS TIMESTAMP)) AS DATE)""";
+
+    private static final String FIND = """
+            SELECT bucket_start, meeting_count, attendance_count
+              FROM attendance_rollups
+             WHERE unit_id = ? AND period = ? AND bucket_start BETWEEN ? AND ?
+             ORDER BY bucket_start""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceRollups(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A signed change to the totals of the buckets containing {@code meetingDate}.
+     */
+    public record Change(UUID unitId, LocalDate meetingDate, long meetings, long attendance) { }
+
+    /**
+     * Applies the changes to every period. Must run in the transaction that wrote the meetings.
+     */
+    public void apply(Collection<Change> changes) {
+        List<Change> applicable = changes.stream()
+                .filter(change -> change.unitId() != null && change.meetingDate() != null)
+                .filter(change -> change.meetings() != 0 || change.attendance() != 0)
+                .toList();
+
+        if (applicable.isEmpty()) {
+            return;
+        }
+
+        lock(applicable.stream().map(Change::unitId).toList());
+
+        List<Object[]> rows = new ArrayList<>(applicable.size() * RollupPeriod.values().length);
+        for (Change change : applicable) {
+            for (RollupPeriod period : RollupPeriod.values()) {
+                rows.add(new Object[]{
+                        change.unitId(),
+                        period.name(),
+                        period.field(),
+                        Timestamp.valueOf(change.meetingDate().atStartOfDay()),
+                        change.meetings(),
+                        change.attendance()});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    /**
+     * Recomputes the units' rollups from their meetings, archived ones included. Must run in a
+     * transaction. Every unit is locked before the first is rebuilt, in the same order as
+     * {@link #apply}, since the locks are held until commit.
+     */
+    public void rebuild(Collection<UUID> unitIds) {
+        lock(unitIds);
+
+        for (UUID unitId : unitIds) {
+            jdbcTemplate.update(DELETE, unitId);
+
+            for (RollupPeriod period : RollupPeriod.values()) {
+                jdbcTemplate.update(REBUILD, period.name(), period.field(), unitId, unitId, period.field());
+            }
+        }
+    }
+
+    /**
+     * @return the non-empty buckets starting between {@code from} and {@code to}, both inclusive, in order
+     */
+    public List<Bucket> find(UUID unitId, RollupPeriod period, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                FIND,
+                (rs, row) -> new Bucket(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3)),
+                unitId, period.name(), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public record Bucket(LocalDate start, long meetings, long attendance) { }
+
+    /**
+     * Takes the units' locks in a fixed order so concurrent writers cannot deadlock.
+     */
+    private void lock(Collection<UUID> unitIds) {
+        unitIds.stream()
+                .filter(Objects::nonNull)
+                .map(AttendanceRollups::lockKey)
+                .distinct()
+                .sorted(Comparator.naturalOrder())
+                .forEach(key -> jdbcTemplate.query(LOCK, rs -> null, key));
+    }
+
+    private static long lockKey(UUID unitId) {
+        return unitId.getMostSignificantBits() ^ unitId.getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,107 @@
+package meetona.attendance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.cache.FilteredId;
+import meetona.shared.cache.IdFilters;
+import meetona.member.MemberRepository;
+import meetona.shared.exception.BadRequestException;
+import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.response.ApiResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class AttendanceService implements IAttendanceService {
+
+    private static final long MAX_ROLLUP_DAYS = 3_660;
+
+    private final IdFilters idFilters;
+    private final CheckInBuffer checkInBuffer;
+    private final RollupBackfill rollupBackfill;
+    private final MemberRepository memberRepository;
+    private final AttendanceRollups attendanceRollups;
+    private final AttendanceRepository attendanceRepository;
+
+    @Override
+    @FilteredId(value = "meeting", resource = "Meeting")
+    public ApiResponse<List<AttendanceDto>> getByMeeting(UUID meetingId, Pageable pageable) {
+        List<AttendanceDto> attendances = attendanceRepository.findDtosByMeetingId(meetingId, pageable);
+
+        var response = new ApiResponse<>(attendances, true);
+
+        log.info("Fetched attendances => {} {}", meetingId, attendances.size());
+        return response;
+    }
+
+    /**
+     * Queues the check-in for the next flush. Unknown meetings and members are turned away here when
+     * the id filters know they do not exist; any that get through are skipped when the batch is written.
+     */
+    @Override
+    public ApiResponse<AttendanceDto> checkIn(AttendanceRequest request) {
+        if (!idFilters.mightContain("meeting", request.meetingId())) {
+            throw new ResourceNotFoundException("Meeting", "id", request.meetingId());
+        }
+
+        if (!idFilters.mightContain("member", request.memberId())) {
+            throw new ResourceNotFoundException("Member", "id", request.memberId());
+        }
+
+        CheckInBuffer.CheckIn checkIn = checkInBuffer.offer(request.meetingId(), request.memberId());
+        var attendance = new AttendanceDto(
+                request.meetingId(),
+                request.memberId(),
+                checkIn != null ? checkIn.checkedInAt() : null);
+
+        return new ApiResponse<>(attendance, true);
+    }
+
+    /**
+     * Answers from the rollups alone: one indexed range read plus the unit's member count, whatever
+     * the amount of meeting history. Buckets without meetings are left out.
+     */
+    @Override
+    @FilteredId(value = "unit", resource = "Unit")
+    public ApiResponse<List<AttendanceRollupDto>> getRollups(
+            UUID unitId,
+            RollupPeriod period,
+            LocalDate from,
+            LocalDate to
+    ) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) > MAX_ROLLUP_DAYS) {
+            throw new BadRequestException("Invalid range " + from + " to " + to);
+        }
+
+        long members = memberRepository.countByUnitId(unitId);
+        List<AttendanceRollupDto> rollups = attendanceRollups.find(unitId, period, from, to).stream()
+                .map(bucket -> new AttendanceRollupDto(
+                        bucket.start(),
+                        bucket.meetings(),
+                        bucket.attendance(),
+                        Math.max(0, bucket.meetings() * members - bucket.attendance())))
+                .toList();
+
+        log.info("Fetched attendance rollups => {} {} {}", unitId, period, rollups.size());
+        return new ApiResponse<>(rollups, true);
+    }
+
+    @Override
+    public ApiResponse<Long> backfillRollups() {
+        long units = rollupBackfill.backfill();
+
+        if (units < 0) {
+            throw new BadRequestException("An attendance rollup backfill is already running");
+        }
+        return new ApiResponse<>(units, true);
+    }
+}
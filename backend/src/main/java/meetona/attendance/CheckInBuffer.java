@@ -0,0 +1,350 @@
+package meetona.attendance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Absorbs check-in bursts in a bounded in-memory queue and writes them in micro-batches.
+ * <p>
+ * A check-in already waiting in the queue is not queued again. Each flush writes a batch with one
+ * multi-row insert that skips pairs already recorded and meetings or members that no longer exist,
+ * then adds the number of new rows to each meeting's member count and to the {@link AttendanceRollups}
+ * of its unit, all in the same transaction. When the queue is full the check-in is refused with a 429 rather than blocking.
+ * <p>
+ * A batch that fails while the database is reachable is split in halves until the failing check-ins
+ * are isolated; those are retried on later flushes and dropped after {@code app.attendance.max-attempts}.
+ * <p>
+ * Check-ins are only held in memory until the next flush, so a crash loses at most one flush interval.
+ * Flushes run on a thread of their own rather than the shared scheduler, so the interval holds while
+ * the cache, backfill and archive jobs run.
+ */
+@Slf4j
+@Component
+public class CheckInBuffer {
+
+    private static final String INSERT = """
+            INSERT INTO attendances (id, created_by, created_dt, updated_by, updated_dt, version, meeting_id, member_id)
+            SELECT gen_random_uuid(), v.created_by, v.created_dt, v.created_by, v.created_dt, 0, v.meeting_id, v.member_id
+              FROM (VALUES %s) AS v (meeting_id, member_id, created_by, created_dt)
+              JOIN meetings mt ON mt.id = v.meeting_id
+              JOIN members mb ON mb.id = v.member_id
+            ON CONFLICT (meeting_id, member_id) DO NOTHING
+            RETURNING meeting_id""";
+
+    private static final String ROW = "(CAST(? AS UUID), CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS TIMESTAMP))";
+
+    private static final String INCREMENT = """
+            UPDATE meetings m
+               SET member_count = m.member_count + v.attended
+              FROM (VALUES %s) AS v (id, attended)
+             WHERE m.id = v.id
+            RETURNING m.unit_id, m.meeting_date, v.attended""";
+
+    private static final String INCREMENT_ROW = "(CAST(? AS UUID), CAST(? AS INTEGER))";
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long flushInterval;
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceRollups attendanceRollups;
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+    private final AuditorAware<String> auditorAware;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<CheckIn> queue;
+    private final Set<Key> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Key, Integer> attempts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("check-in-flush").daemon().factory());
+
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter rejected;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final Timer flushLag;
+    private final DistributionSummary flushRows;
+
+    public CheckInBuffer(
+            JdbcTemplate jdbcTemplate,
+            AttendanceRollups attendanceRollups,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            CacheGenerations cacheGenerations,
+            AuditorAware<String> auditorAware,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attendance.queue-capacity:50000}") int capacity,
+            @Value("${app.attendance.batch-size:1000}") int batchSize,
+            @Value("${app.attendance.flush-interval:100}") long flushInterval,
+            @Value("${app.attendance.max-attempts:3}") int maxAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.attendanceRollups = attendanceRollups;
+        this.cacheManager = cacheManager;
+        this.cacheGenerations = cacheGenerations;
+        this.auditorAware = auditorAware;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxAttempts = maxAttempts;
+
+        this.accepted = meterRegistry.counter("attendance.checkins", "outcome", "accepted");
+        this.duplicates = meterRegistry.counter("attendance.checkins", "outcome", "duplicate");
+        this.rejected = meterRegistry.counter("attendance.checkins", "outcome", "rejected");
+        this.recorded = meterRegistry.counter("attendance.recorded");
+        this.dropped = meterRegistry.counter("attendance.dropped");
+        this.failed = meterRegistry.counter("attendance.failed");
+        this.flushTimer = Timer.builder("attendance.flush")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("attendance.flush.lag")
+                .description("Time from the oldest check-in of a batch being queued to its batch committing")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushRows = DistributionSummary.builder("attendance.flush.rows").register(meterRegistry);
+        Gauge.builder("attendance.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the queued check-in, or {@code null} if the same check-in is already waiting to be written
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public CheckIn offer(UUID meetingId, UUID memberId) {
+        var key = new Key(meetingId, memberId);
+
+        if (!pending.add(key)) {
+            duplicates.increment();
+            return null;
+        }
+
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        var checkIn = new CheckIn(meetingId, memberId, Instant.now(), auditor);
+
+        if (!queue.offer(checkIn)) {
+            pending.remove(key);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many check-ins, try again shortly", 1);
+        }
+
+        accepted.increment();
+        return checkIn;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        List<CheckIn> batch = new ArrayList<>(batchSize);
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                break;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stops the schedule, waiting for a flush in progress, then writes what is left.
+     */
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Check-in flush still running at shutdown");
+        }
+        flush();
+    }
+
+    /**
+     * An exception escaping a scheduled task would cancel every later flush.
+     */
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Check-in flush failed", ex);
+        }
+    }
+
+    /**
+     * @return whether every check-in of the batch was written. While the database is unavailable the
+     * batch is put back on the queue as far as it fits; otherwise it is split to find the failing check-ins.
+     */
+    private boolean write(List<CheckIn> batch) {
+        long start = System.nanoTime();
+
+        try {
+            Map<UUID, Long> counts = transactionTemplate.execute(status -> insert(batch));
+
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushLag.record(Duration.between(batch.get(0).checkedInAt(), Instant.now()));
+            flushRows.record(batch.size());
+            recorded.increment(counts.values().stream().mapToLong(Long::longValue).sum());
+
+            batch.forEach(checkIn -> settle(Key.of(checkIn)));
+            evict(counts.keySet());
+            return true;
+        } catch (RuntimeException ex) {
+            if (unavailable(ex)) {
+                log.warn("Could not write {} check-ins, re-queueing", batch.size(), ex);
+                requeue(batch);
+                return false;
+            }
+
+            if (batch.size() == 1) {
+                retryLater(batch.get(0), ex);
+                return false;
+            }
+
+            log.warn("Could not write {} check-ins, splitting the batch => {}", batch.size(), ex.getMessage());
+            int half = batch.size() / 2;
+            boolean first = write(new ArrayList<>(batch.subList(0, half)));
+            boolean second = write(new ArrayList<>(batch.subList(half, batch.size())));
+            return first && second;
+        }
+    }
+
+    private static boolean unavailable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    private void retryLater(CheckIn checkIn, RuntimeException ex) {
+        var key = Key.of(checkIn);
+
+        if (attempts.merge(key, 1, Integer::sum) < maxAttempts) {
+            requeue(List.of(checkIn));
+            return;
+        }
+
+        settle(key);
+        failed.increment();
+        log.error("Dropped check-in of member {} to meeting {} after {} attempts",
+                checkIn.memberId(), checkIn.meetingId(), maxAttempts, ex);
+    }
+
+    /**
+     * @return the number of attendances recorded per meeting
+     */
+    private Map<UUID, Long> insert(List<CheckIn> batch) {
+        String values = String.join(", ", Collections.nCopies(batch.size(), ROW));
+        Object[] args = new Object[batch.size() * 4];
+
+        for (int i = 0; i < batch.size(); i++) {
+            CheckIn checkIn = batch.get(i);
+            args[i * 4] = checkIn.meetingId();
+            args[i * 4 + 1] = checkIn.memberId();
+            args[i * 4 + 2] = checkIn.checkedInBy();
+            args[i * 4 + 3] = Timestamp.from(checkIn.checkedInAt());
+        }
+
+        List<UUID> meetingIds = jdbcTemplate.query(
+                INSERT.formatted(values),
+                (rs, row) -> rs.getObject(1, UUID.class),
+                args);
+
+        Map<UUID, Long> counts = meetingIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        if (counts.isEmpty()) {
+            return counts;
+        }
+
+        List<Object> increments = new ArrayList<>(counts.size() * 2);
+        counts.forEach((meetingId, attended) -> {
+            increments.add(meetingId);
+            increments.add(attended);
+        });
+
+        List<AttendanceRollups.Change> changes = jdbcTemplate.query(
+                INCREMENT.formatted(String.join(", ", Collections.nCopies(counts.size(), INCREMENT_ROW))),
+                (rs, row) -> new AttendanceRollups.Change(
+                        rs.getObject(1, UUID.class),
+                        rs.getDate(2).toLocalDate(),
+                        0,
+                        rs.getLong(3)),
+                increments.toArray());
+
+        attendanceRollups.apply(changes);
+        return counts;
+    }
+
+    private void requeue(List<CheckIn> batch) {
+        for (CheckIn checkIn : batch) {
+            if (!queue.offer(checkIn)) {
+                settle(Key.of(checkIn));
+                dropped.increment();
+            }
+        }
+    }
+
+    private void settle(Key key) {
+        pending.remove(key);
+        attempts.remove(key);
+    }
+
+    private void evict(Set<UUID> meetingIds) {
+        if (meetingIds.isEmpty()) {
+            return;
+        }
+
+        Cache meetings = cacheManager.getCache("meeting");
+        if (meetings != null) {
+            meetingIds.forEach(meetings::evict);
+        }
+        cacheGenerations.bump("meetings");
+    }
+
+    public record CheckIn(UUID meetingId, UUID memberId, Instant checkedInAt, String checkedInBy) { }
+
+    private record Key(UUID meetingId, UUID memberId) {
+
+        static Key of(CheckIn checkIn) {
+            return new Key(checkIn.meetingId(), checkIn.memberId());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package meetona.attendance;
+
+import meetona.shared.response.ApiResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface IAttendanceService {
+    ApiResponse<List<AttendanceDto>> getByMeeting(UUID meetingId, Pageable pageable);
+    ApiResponse<AttendanceDto> checkIn(AttendanceRequest request);
+    ApiResponse<List<AttendanceRollupDto>> getRollups(UUID unitId, RollupPeriod period, LocalDate from, LocalDate to);
+    ApiResponse<Long> backfillRollups();
+}
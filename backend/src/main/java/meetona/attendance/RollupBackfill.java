@@ -0,0 +1,117 @@
+package meetona.attendance;
+
+import lombok.extern.slf4j.Slf4j;
+import meetona.unit.UnitRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every unit's {@link AttendanceRollups} from the meetings and their archive, for the first deployment
+ * and to repair drift.
+ * <p>
+ * Units are split into chunks rebuilt in parallel, each chunk in its own transaction, so the job
+ * never holds one long transaction and its parallelism is bounded by the connection pool rather
+ * than the number of units. A chunk takes all its units' locks up front, in the order check-ins and
+ * meeting writes take them, so it cannot deadlock with them. Only one backfill runs at a time on a node.
+ */
+@Slf4j
+@Component
+public class RollupBackfill {
+
+    private final int chunkSize;
+    private final int parallelism;
+    private final UnitRepository unitRepository;
+    private final AttendanceRollups attendanceRollups;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RollupBackfill(
+            UnitRepository unitRepository,
+            AttendanceRollups attendanceRollups,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attendance.rollup.backfill.chunk-size:50}") int chunkSize,
+            @Value("${app.attendance.rollup.backfill.parallelism:4}") int parallelism
+    ) {
+        this.unitRepository = unitRepository;
+        this.attendanceRollups = attendanceRollups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${app.attendance.rollup.backfill.cron:-}")
+    public void scheduledBackfill() {
+        backfill();
+    }
+
+    /**
+     * @return the number of units rebuilt, or -1 if a backfill is already running
+     */
+    public long backfill() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (List<UUID> chunk : chunks(unitIds())) {
+                chunks.add(executor.submit(() -> rebuild(chunk)));
+            }
+
+            long rebuilt = 0;
+            for (Future<Integer> chunk : chunks) {
+                rebuilt += chunk.get();
+            }
+
+            log.info("Backfilled attendance rollups => {} units in {} ms",
+                    rebuilt, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return rebuilt;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attendance rollup backfill interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Attendance rollup backfill failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private int rebuild(List<UUID> unitIds) {
+        transactionTemplate.executeWithoutResult(status -> attendanceRollups.rebuild(unitIds));
+        return unitIds.size();
+    }
+
+    private List<UUID> unitIds() {
+        return transactionTemplate.execute(status -> {
+            try (Stream<UUID> ids = unitRepository.streamAllIds()) {
+                return ids.toList();
+            }
+        });
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            chunks.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
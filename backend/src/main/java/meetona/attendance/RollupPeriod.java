@@ -0,0 +1,36 @@
+package meetona.attendance;
+
+import meetona.shared.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Bucket sizes of {@link AttendanceRollups}. Weeks start on Monday.
+ */
+public enum RollupPeriod {
+
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String field;
+
+    RollupPeriod(String field) {
+        this.field = field;
+    }
+
+    /**
+     * @return the PostgreSQL {@code date_trunc} field for the period
+     */
+    public String field() {
+        return field;
+    }
+
+    public static RollupPeriod of(String period) {
+        try {
+            return valueOf(period.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported rollup period: " + period);
+        }
+    }
+}
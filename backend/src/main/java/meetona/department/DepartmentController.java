@@ -22,8 +22,11 @@ public class DepartmentController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<DepartmentDto>>> getAll(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(departmentService.getAll(pageable));
+    public ResponseEntity<ApiResponse<List<DepartmentDto>>> getAll(
+            @PageableDefault Pageable pageable,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        return ResponseEntity.ok(departmentService.getAll(pageable, total));
     }
 
     @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
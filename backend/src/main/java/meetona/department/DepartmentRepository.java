@@ -1,10 +1,45 @@
 package meetona.department;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public interface DepartmentRepository extends JpaRepository<Department, UUID> {
     boolean existsByName(String name);
+    Slice<Department> findAllBy(Pageable pageable);
     boolean existsByLead(String lead);
+
+    /**
+     * Updates the department in place with a single statement; auditing is set by the caller.
+     *
+     * @return the number of rows updated, 0 if the department does not exist
+     */
+    @Modifying
+    @Query("""
+            update department d
+               set d.name = :name,
+                   d.lead = :lead,
+                   d.updatedBy = :updatedBy,
+                   d.updatedDate = :updatedDate,
+                   d.version = d.version + 1
+             where d.id = :id""")
+    int update(
+            @Param("id") UUID id,
+            @Param("name") String name,
+            @Param("lead") String lead,
+            @Param("updatedBy") String updatedBy,
+            @Param("updatedDate") Instant updatedDate);
+
+    /**
+     * @return the number of rows deleted, 0 if the department does not exist
+     */
+    @Modifying
+    @Query("delete from department d where d.id = :id")
+    int removeById(@Param("id") UUID id);
 }
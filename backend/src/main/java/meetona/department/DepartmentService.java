@@ -2,17 +2,20 @@ package meetona.department;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import meetona.shared.exception.AppException;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
 import meetona.shared.exception.InsertionFailedException;
 import meetona.shared.exception.ResourceNotFoundException;
 import meetona.shared.response.ApiResponse;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,25 +27,27 @@ public class DepartmentService implements IDepartmentService {
 
     private final DepartmentMapper mapper;
     private final DepartmentRepository repository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
+    private final AuditorAware<String> auditorAware;
 //    private final MemberActionProducer memberActionProducer;
 
     @Override
-    @Cacheable("departments")
-    public ApiResponse<List<DepartmentDto>> getAll(Pageable pageable) {
-        Page<Department> departments = repository.findAll(pageable);
+    @Cacheable(
+            value = "departments",
+            key = "@cacheGenerations.current('departments') + ':' + #pageable + ':' + #total",
+            sync = true)
+    public ApiResponse<List<DepartmentDto>> getAll(Pageable pageable, boolean total) {
+        Slice<DepartmentDto> departmentDto = repository.findAllBy(pageable).map(mapper::toDto);
 
-        List<DepartmentDto> departmentDto = departments.stream()
-                .map(mapper::toDto)
-                .toList();
+        var response = ApiResponse.of(departmentDto, total ? entityCounter.total("departments") : null);
 
-        var response = new ApiResponse<>(departmentDto, true);
-
-        log.info("Fetched units => {}", departmentDto);
+        log.info("Fetched units => {}", departmentDto.getContent());
         return response;
     }
 
     @Override
-    @Cacheable("department")
+    @Cacheable(value = "department", sync = true)
     public ApiResponse<DepartmentDto> getById(UUID id) {
         Department department = repository.findById(id).orElse(null);
 
@@ -70,6 +75,8 @@ public class DepartmentService implements IDepartmentService {
 
         Department newDepartment = buildDepartment(request);
         repository.save(newDepartment);
+        cacheGenerations.bump("departments");
+        entityCounter.add("departments", 1);
 
         DepartmentDto departmentDto = mapper.toDto(newDepartment);
         var response = new ApiResponse<>(departmentDto, true);
@@ -80,18 +87,21 @@ public class DepartmentService implements IDepartmentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "department", key = "#department.id")
+    @CacheEvict(value = "department", key = "#id")
     public ApiResponse<DepartmentDto> update(UUID id, DepartmentRequest request) {
-        boolean isUnitExists = repository.existsById(id);
-
-        if(!isUnitExists) {
-            throw new AppException("Id does not exists");
+        int updated = repository.update(
+                id,
+                request.name(),
+                request.lead(),
+                auditorAware.getCurrentAuditor().orElse(null),
+                Instant.now());
+
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Department", "id", id);
         }
 
-        Department newDepartment = buildDepartment(request);
-
-        repository.save(newDepartment);
-        DepartmentDto updatedDepartment = mapper.toDto(newDepartment);
+        cacheGenerations.bump("departments");
+        var updatedDepartment = new DepartmentDto(id, request.name(), request.lead());
 
         var response = new ApiResponse<>(updatedDepartment, true);
 
@@ -103,13 +113,12 @@ public class DepartmentService implements IDepartmentService {
     @Transactional
     @CacheEvict(value = "department", key = "#id")
     public ApiResponse<DepartmentDto> delete(UUID id) {
-        boolean isDepartmentExists = repository.existsById(id);
-
-        if(!isDepartmentExists){
-            throw new ResourceNotFoundException("User", "id", id);
+        if (repository.removeById(id) == 0) {
+            throw new ResourceNotFoundException("Department", "id", id);
         }
 
-        repository.deleteById(id);
+        cacheGenerations.bump("departments");
+        entityCounter.add("departments", -1);
         var deletedDepartment = new DepartmentDto(id, null, null);
 
         var response = new ApiResponse<>(deletedDepartment, true);
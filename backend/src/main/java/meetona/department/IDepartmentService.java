@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.UUID;
 
 public interface IDepartmentService {
-    ApiResponse<List<DepartmentDto>> getAll(Pageable pageable);
+    ApiResponse<List<DepartmentDto>> getAll(Pageable pageable, boolean total);
     ApiResponse<DepartmentDto> getById(UUID id);
     ApiResponse<DepartmentDto> add(DepartmentRequest request);
     ApiResponse<DepartmentDto> update(UUID id, DepartmentRequest request);
@@ -1,14 +1,22 @@
 package meetona.meeting;
 
+import meetona.shared.export.ExportFormat;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface IMeetingService {
-    ApiResponse<List<MeetingDto>> getAll(Pageable pageable);
+    ApiResponse<List<MeetingDto>> getAll(Pageable pageable, boolean total);
+    ApiResponse<PagedResponse<MeetingDto>> getAll(String cursor, int size);
     ApiResponse<MeetingDto> getById(UUID id);
+    ApiResponse<List<MeetingDto>> getByUnit(UUID unitId, LocalDate from, LocalDate to, boolean includeArchived, Pageable pageable);
+    void export(ExportFormat format, OutputStream output) throws IOException;
     ApiResponse<MeetingDto> add(MeetingRequest request);
     ApiResponse<MeetingDto> update(UUID id, MeetingRequest request);
     ApiResponse<MeetingDto> delete(UUID id);
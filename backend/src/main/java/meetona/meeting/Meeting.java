@@ -5,6 +5,9 @@ import lombok.*;
 import meetona.shared.entity.BaseEntity;
 import meetona.unit.Unit;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
+
+import java.time.LocalDate;
 
 @Data
 @Builder
@@ -22,6 +25,13 @@ public class Meeting extends BaseEntity {
     @Column(nullable = false)
     private String prayerPoint;
 
+    /**
+     * Partition key of {@code meetings}; also added to updates and deletes so they touch one partition.
+     */
+    @PartitionKey
+    @Column(nullable = false)
+    private LocalDate meetingDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "unit_id", referencedColumnName = "id")
     private Unit unit;
@@ -1,13 +1,20 @@
 package meetona.meeting;
 
 import jakarta.validation.Valid;
+import meetona.shared.export.ExportFormat;
+import meetona.shared.export.ExportResponses;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,8 +29,47 @@ public class MeetingController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<MeetingDto>>> getAll(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(meetingService.getAll(pageable));
+    public ResponseEntity<ApiResponse<List<MeetingDto>>> getAll(
+            @PageableDefault Pageable pageable,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        return ResponseEntity.ok(meetingService.getAll(pageable, total));
+    }
+
+    @GetMapping(value = "/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PagedResponse<MeetingDto>>> getAll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(meetingService.getAll(cursor, size));
+    }
+
+    /**
+     * A unit's meetings dated between {@code from} and {@code to}, newest first. Meetings moved to the
+     * archive are only included with {@code includeArchived=true}.
+     */
+    @GetMapping(value = "/unit/{unitId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<MeetingDto>>> getByUnit(
+            @PathVariable("unitId") UUID unitId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            @PageableDefault Pageable pageable
+    ) {
+        return ResponseEntity.ok(meetingService.getByUnit(unitId, from, to, includeArchived, pageable));
+    }
+
+    /**
+     * Downloads every meeting as CSV or NDJSON, written row by row as it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ExportResponses.of("meetings", exportFormat, acceptEncoding,
+                output -> meetingService.export(exportFormat, output));
     }
 
     @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -1,11 +1,13 @@
 package meetona.meeting;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.UUID;
 
 public record MeetingDto(
         UUID id,
         int memberCount,
         String prayerPoint,
-        UUID unitId
+        UUID unitId,
+        LocalDate meetingDate
 ) implements Serializable { }
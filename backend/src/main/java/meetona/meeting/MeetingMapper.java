@@ -1,6 +1,7 @@
 package meetona.meeting;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
@@ -12,5 +13,6 @@ public interface MeetingMapper {
 
     MeetingMapper INSTANCE = Mappers.getMapper(MeetingMapper.class);
 
+    @Mapping(target = "unitId", source = "unit.id")
     MeetingDto toDto(Meeting meeting);
 }
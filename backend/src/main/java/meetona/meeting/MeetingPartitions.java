@@ -0,0 +1,297 @@
+package meetona.meeting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code meetings} and the {@code meetings_archive} table.
+ * <p>
+ * Partitions are created a few months ahead so new meetings rarely land in the default partition.
+ * Meetings dated further ahead wait there, and are moved into their month when its partition is
+ * created: a partition cannot be created while the default holds rows for its range.
+ * Partitions older than the retention window are copied into the archive, detached and dropped, one
+ * month per transaction; the partition is locked against writes while it is copied so no change is
+ * lost. Meetings that old still in the default partition, dated before any monthly partition, are
+ * moved into the archive first. Archived meetings keep counting in the attendance rollups and are only read when a caller
+ * explicitly asks for them. Maintenance runs on one node at a time.
+ */
+@Slf4j
+@Component
+public class MeetingPartitions {
+
+    private static final long LOCK_KEY = 0x6d656574696e6773L;
+
+    private static final Pattern PARTITION = Pattern.compile("meetings_(\\d{4})_(\\d{2})");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private static final String PARTITIONS = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = CAST('meetings' AS REGCLASS)""";
+
+    private static final String DEFAULT_PARTITION = "meetings_default";
+
+    private static final String EXISTS = "SELECT to_regclass(?) IS NOT NULL";
+
+    private static final String CREATE = "CREATE TABLE IF NOT EXISTS %s PARTITION OF meetings FOR VALUES FROM ('%s') TO ('%s')";
+
+    private static final String COLUMNS =
+            "id, created_by, created_dt, updated_by, updated_dt, version, member_count, prayer_point, unit_id, meeting_date";
+
+    private static final String IN_DEFAULT = "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+            + " WHERE meeting_date >= ? AND meeting_date < ?)";
+
+    private static final String MOVE_FROM_DEFAULT = "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+            + " WHERE meeting_date >= ? AND meeting_date < ? RETURNING " + COLUMNS + ")"
+            + " INSERT INTO meetings (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved";
+
+    private static final String ARCHIVE_FROM_DEFAULT = "WITH archived AS (DELETE FROM " + DEFAULT_PARTITION
+            + " WHERE meeting_date < ? RETURNING " + COLUMNS + ")"
+            + " INSERT INTO meetings_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM archived"
+            + " ON CONFLICT (id) DO NOTHING";
+
+    private static final String ATTACH_DEFAULT = "ALTER TABLE meetings ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT";
+
+    private static final String LOCK_PARTITION = "LOCK TABLE %s IN SHARE MODE";
+
+    private static final String COPY = "INSERT INTO meetings_archive (" + COLUMNS + ") SELECT " + COLUMNS
+            + " FROM %s ON CONFLICT (id) DO NOTHING";
+
+    private static final String DETACH = "ALTER TABLE meetings DETACH PARTITION %s";
+
+    private static final String DROP = "DROP TABLE %s";
+
+    private static final String FIND_WITH_ARCHIVE = """
+            SELECT id, member_count, prayer_point, unit_id, meeting_date
+              FROM meetings
+             WHERE unit_id = ? AND meeting_date BETWEEN ? AND ?
+            UNION ALL
+            SELECT id, member_count, prayer_point, unit_id, meeting_date
+              FROM meetings_archive
+             WHERE unit_id = ? AND meeting_date BETWEEN ? AND ?
+             ORDER BY meeting_date DESC, id
+             LIMIT ? OFFSET ?""";
+
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final EntityCounter entityCounter;
+    private final CacheGenerations cacheGenerations;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedRows;
+
+    public MeetingPartitions(
+            JdbcTemplate jdbcTemplate,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            EntityCounter entityCounter,
+            CacheGenerations cacheGenerations,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.meeting.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.meeting.archive.retention-months:24}") int retentionMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.entityCounter = entityCounter;
+        this.cacheGenerations = cacheGenerations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archivedRows = meterRegistry.counter("meeting.archived");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOnStartup() {
+        createAhead();
+    }
+
+    @Scheduled(cron = "${app.meeting.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        createAhead();
+        archive();
+    }
+
+    /**
+     * Creates the partitions for this month and the configured number of months ahead.
+     */
+    public void createAhead() {
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (locked()) {
+                        create(month);
+                    }
+                });
+            } catch (DataAccessException ex) {
+                log.warn("Could not create meeting partition => {}", name(month), ex);
+            }
+        }
+    }
+
+    /**
+     * Moves every partition older than the retention window into the archive.
+     *
+     * @return the number of meetings archived
+     */
+    public long archive() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        List<YearMonth> expired = jdbcTemplate.queryForList(PARTITIONS, String.class).stream()
+                .map(MeetingPartitions::month)
+                .filter(Objects::nonNull)
+                .filter(month -> month.isBefore(cutoff))
+                .sorted()
+                .toList();
+
+        long archived = 0;
+        try {
+            Integer rows = transactionTemplate.execute(status -> locked()
+                    ? jdbcTemplate.update(ARCHIVE_FROM_DEFAULT, Date.valueOf(cutoff.atDay(1)))
+                    : null);
+
+            if (rows == null) {
+                log.info("Meeting partitions are being maintained by another node");
+                return 0;
+            }
+            if (rows > 0) {
+                archived += rows;
+                archivedRows.increment(rows);
+                log.info("Archived {} meetings from {}", rows, DEFAULT_PARTITION);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not archive meetings from {}", DEFAULT_PARTITION, ex);
+        }
+
+        for (YearMonth month : expired) {
+            try {
+                Integer rows = transactionTemplate.execute(status -> locked() ? archive(name(month)) : null);
+
+                if (rows == null) {
+                    log.info("Meeting partitions are being maintained by another node");
+                    break;
+                }
+                archived += rows;
+                archivedRows.increment(rows);
+                log.info("Archived meeting partition => {} with {} meetings", name(month), rows);
+            } catch (DataAccessException ex) {
+                log.warn("Could not archive meeting partition => {}", name(month), ex);
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            Cache meetings = cacheManager.getCache("meeting");
+            if (meetings != null) {
+                meetings.clear();
+            }
+            cacheGenerations.bump("meetings");
+            entityCounter.recount("meetings");
+        }
+        return archived;
+    }
+
+    /**
+     * Same as {@link MeetingRepository#findDtosByUnit} but also reads {@code meetings_archive}.
+     */
+    public Slice<MeetingDto> findDtosByUnitWithArchive(UUID unitId, LocalDate from, LocalDate to, Pageable pageable) {
+        List<MeetingDto> rows = jdbcTemplate.query(
+                FIND_WITH_ARCHIVE,
+                (rs, row) -> new MeetingDto(
+                        rs.getObject(1, UUID.class),
+                        rs.getInt(2),
+                        rs.getString(3),
+                        rs.getObject(4, UUID.class),
+                        rs.getDate(5).toLocalDate()),
+                unitId, Date.valueOf(from), Date.valueOf(to),
+                unitId, Date.valueOf(from), Date.valueOf(to),
+                pageable.getPageSize() + 1, pageable.getOffset());
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    /**
+     * Creates the month's partition. Meetings of that month waiting in the default partition are moved
+     * into it with the default detached, all in the caller's transaction.
+     */
+    private void create(YearMonth month) {
+        String partition = name(month);
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS, Boolean.class, partition))) {
+            return;
+        }
+
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IN_DEFAULT, Boolean.class, from, to))) {
+            jdbcTemplate.execute(CREATE.formatted(partition, from, to));
+            return;
+        }
+
+        jdbcTemplate.execute(DETACH.formatted(DEFAULT_PARTITION));
+        jdbcTemplate.execute(CREATE.formatted(partition, from, to));
+        int moved = jdbcTemplate.update(MOVE_FROM_DEFAULT, from, to);
+        jdbcTemplate.execute(ATTACH_DEFAULT);
+
+        log.info("Created meeting partition => {} with {} meetings from {}", partition, moved, DEFAULT_PARTITION);
+    }
+
+    private int archive(String partition) {
+        jdbcTemplate.execute(LOCK_PARTITION.formatted(partition));
+        int rows = jdbcTemplate.update(COPY.formatted(partition));
+        jdbcTemplate.execute(DETACH.formatted(partition));
+        jdbcTemplate.execute(DROP.formatted(partition));
+        return rows;
+    }
+
+    private boolean locked() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, LOCK_KEY));
+    }
+
+    private static String name(YearMonth month) {
+        return "meetings_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth month(String partition) {
+        Matcher matcher = PARTITION.matcher(partition);
+        return matcher.matches()
+                ? YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))
+                : null;
+    }
+}
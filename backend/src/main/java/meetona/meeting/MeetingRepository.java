@@ -1,8 +1,71 @@
 package meetona.meeting;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface MeetingRepository extends JpaRepository<Meeting, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface MeetingRepository extends JpaRepository<Meeting, UUID>, MeetingWrites {
+
+    /**
+     * {@link MeetingDto} built in the select clause; the unit id is read from the foreign key without a join.
+     */
+    String DTO = "new meetona.meeting.MeetingDto(m.id, m.memberCount, m.prayerPoint, m.unit.id, m.meetingDate)";
+
+    @Query("select m.id from meeting m")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UUID> streamAllIds();
+
+    @Query("select " + DTO + " from meeting m order by m.createdDate, m.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<MeetingDto> streamAllDtos();
+
+    @Query("select " + DTO + " from meeting m")
+    Slice<MeetingDto> findAllDtos(Pageable pageable);
+
+    /**
+     * A unit's meetings dated within the range, newest first. The date range limits the scan to the
+     * matching monthly partitions; archived meetings are not included.
+     */
+    @Query("select " + DTO + """
+             from meeting m
+            where m.unit.id = :unitId
+              and m.meetingDate between :from and :to
+            order by m.meetingDate desc, m.id""")
+    Slice<MeetingDto> findDtosByUnit(
+            @Param("unitId") UUID unitId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    @Query("select " + DTO + " from meeting m where m.id = :id")
+    Optional<MeetingDto> findDtoById(@Param("id") UUID id);
+
+    @Query("select m.createdDate, m.id, " + DTO + " from meeting m order by m.createdDate, m.id")
+    List<Object[]> findKeysetFirst(Pageable pageable);
+
+    @Query("select m.createdDate, m.id, " + DTO + """
+             from meeting m
+            where m.createdDate >= :createdDate
+              and (m.createdDate > :createdDate or m.id > :id)
+            order by m.createdDate, m.id""")
+    List<Object[]> findKeysetAfter(
+            @Param("createdDate") Instant createdDate,
+            @Param("id") UUID id,
+            Pageable pageable);
 }
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.UUID;
 
 public record MeetingRequest(
@@ -14,5 +15,7 @@ public record MeetingRequest(
         String prayerPoint,
 
         @NotNull(message = "Unit must note be blank")
-        UUID unitId
+        UUID unitId,
+
+        LocalDate meetingDate
 ) implements Serializable { }
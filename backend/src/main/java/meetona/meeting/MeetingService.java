@@ -2,19 +2,35 @@ package meetona.meeting;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import meetona.attendance.AttendanceRollups;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.FilteredId;
+import meetona.shared.cache.IdFilters;
 import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.export.ExportFormat;
+import meetona.shared.export.ExportWriter;
 import meetona.unit.UnitRepository;
-import meetona.shared.exception.AppException;
+import meetona.shared.exception.BadRequestException;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.Cursor;
+import meetona.shared.response.PagedResponse;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,32 +38,59 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MeetingService implements IMeetingService {
 
+    private final IdFilters idFilters;
+    private final AttendanceRollups attendanceRollups;
+    private final ExportWriter exportWriter;
     private final MeetingMapper mapper;
     private final UnitRepository unitRepository;
     private final MeetingRepository meetingRepository;
+    private final MeetingPartitions meetingPartitions;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
+    private final AuditorAware<String> auditorAware;
 //    private final MeetingActionProducer meetingActionProducer;
 
     @Override
-    @Cacheable("meetings")
-    public ApiResponse<List<MeetingDto>> getAll(Pageable pageable) {
-        Page<Meeting> meetings = meetingRepository.findAll(pageable);
+    @Cacheable(
+            value = "meetings",
+            key = "@cacheGenerations.current('meetings') + ':' + #pageable + ':' + #total",
+            sync = true)
+    public ApiResponse<List<MeetingDto>> getAll(Pageable pageable, boolean total) {
+        Slice<MeetingDto> meetingDto = meetingRepository.findAllDtos(pageable);
 
-        List<MeetingDto> meetingDto = meetings.stream()
-                .map(mapper::toDto)
-                .toList();
+        var response = ApiResponse.of(meetingDto, total ? entityCounter.total("meetings") : null);
 
-        var response = new ApiResponse<>(meetingDto, true);
+        log.info("Fetched units => {}", meetingDto.getContent());
+        return response;
+    }
 
-        log.info("Fetched units => {}", meetingDto);
+    @Override
+    @Cacheable(
+            value = "meetings",
+            key = "@cacheGenerations.current('meetings') + ':' + #cursor + ':' + #size",
+            sync = true)
+    public ApiResponse<PagedResponse<MeetingDto>> getAll(String cursor, int size) {
+        int limit = PagedResponse.limit(size);
+        var pageable = PageRequest.ofSize(limit + 1);
+
+        List<Object[]> rows = cursor == null
+                ? meetingRepository.findKeysetFirst(pageable)
+                : findKeysetAfter(Cursor.decode(cursor), pageable);
+
+        PagedResponse<MeetingDto> page = PagedResponse.of(rows, limit);
+        var response = new ApiResponse<>(page, true);
+
+        log.info("Fetched meetings => {}", page.getContent());
         return response;
     }
 
     @Override
-    @Cacheable("meeting")
+    @FilteredId(value = "meeting", resource = "Meeting")
+    @Cacheable(value = "meeting", sync = true)
     public ApiResponse<MeetingDto> getById(UUID id) {
-        Meeting meeting = meetingRepository.findById(id).orElse(null);
-
-        MeetingDto meetingDto = mapper.toDto(meeting);
+        MeetingDto meetingDto = meetingRepository
+                .findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Meeting", "id", id));
 
         var response = new ApiResponse<>(meetingDto, true);
 
@@ -55,14 +98,61 @@ public class MeetingService implements IMeetingService {
         return response;
     }
 
+    /**
+     * Reads only the partitions covering the range, plus the archive when {@code includeArchived} is set.
+     */
+    @Override
+    @FilteredId(value = "unit", resource = "Unit")
+    @Cacheable(
+            value = "meetings",
+            key = "@cacheGenerations.current('meetings') + ':unit:' + #unitId + ':' + #from + ':' + #to + ':' + #includeArchived + ':' + #pageable",
+            sync = true)
+    public ApiResponse<List<MeetingDto>> getByUnit(
+            UUID unitId,
+            LocalDate from,
+            LocalDate to,
+            boolean includeArchived,
+            Pageable pageable
+    ) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Invalid range " + from + " to " + to);
+        }
+
+        Slice<MeetingDto> meetingDto = includeArchived
+                ? meetingPartitions.findDtosByUnitWithArchive(unitId, from, to, pageable)
+                : meetingRepository.findDtosByUnit(unitId, from, to, pageable);
+
+        var response = ApiResponse.of(meetingDto, null);
+
+        log.info("Fetched unit meetings => {}", meetingDto.getContent());
+        return response;
+    }
+
+    /**
+     * Streams every meeting in creation order, bypassing the cache. Runs in a read-only transaction
+     * so the driver honours the fetch size.
+     */
+    @Override
+    public void export(ExportFormat format, OutputStream output) throws IOException {
+        try (Stream<MeetingDto> meetings = meetingRepository.streamAllDtos()) {
+            long count = exportWriter.write(meetings, MeetingDto.class, format, output);
+            log.info("Exported meetings => {} rows", count);
+        }
+    }
+
     @Override
     @Transactional
     public ApiResponse<MeetingDto> add(MeetingRequest request) {
 
         Meeting newMeeting = buildMeeting(request);
         meetingRepository.save(newMeeting);
-
         MeetingDto meetingDto = mapper.toDto(newMeeting);
+
+        attendanceRollups.apply(List.of(rollupChange(meetingDto, 1)));
+        cacheGenerations.bump("meetings");
+        entityCounter.add("meetings", 1);
+        idFilters.add("meeting", newMeeting.getId());
+
         var response = new ApiResponse<>(meetingDto, true);
 
 //        meetingActionProducer.sendMessage(meetingDto);
@@ -71,18 +161,17 @@ public class MeetingService implements IMeetingService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "meeting", key = "#meeting.id")
+    @CacheEvict(value = "meeting", key = "#id")
     public ApiResponse<MeetingDto> update(UUID id, MeetingRequest request) {
-        boolean isMeetingExists = meetingRepository.existsById(id);
-
-        if(!isMeetingExists) {
-            throw new AppException("Id does not exists");
-        }
-
-        Meeting newMeeting = buildMeeting(request);
+        MeetingWrites.Updated updated = meetingRepository
+                .update(id, request, auditorAware.getCurrentAuditor().orElse(null), Instant.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Meeting", "id", id));
 
-        meetingRepository.save(newMeeting);
-        MeetingDto updatedMeeting = mapper.toDto(newMeeting);
+        attendanceRollups.apply(List.of(
+                rollupChange(updated.previous(), -1),
+                rollupChange(updated.current(), 1)));
+        cacheGenerations.bump("meetings");
+        MeetingDto updatedMeeting = updated.current();
 
         var response = new ApiResponse<>(updatedMeeting, true);
 
@@ -94,14 +183,14 @@ public class MeetingService implements IMeetingService {
     @Transactional
     @CacheEvict(value = "meeting", key = "#id")
     public ApiResponse<MeetingDto> delete(UUID id) {
-        boolean isUnitExists = meetingRepository.existsById(id);
-
-        if(!isUnitExists){
-            throw new ResourceNotFoundException("User", "id", id);
-        }
+        MeetingDto removed = meetingRepository
+                .remove(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Meeting", "id", id));
 
-        meetingRepository.deleteById(id);
-        MeetingDto deletedMeeting = new MeetingDto(id, 0, null, null);
+        attendanceRollups.apply(List.of(rollupChange(removed, -1)));
+        cacheGenerations.bump("meetings");
+        entityCounter.add("meetings", -1);
+        MeetingDto deletedMeeting = new MeetingDto(id, 0, null, null, null);
 
         var response = new ApiResponse<>(deletedMeeting, true);
 
@@ -110,14 +199,26 @@ public class MeetingService implements IMeetingService {
     }
 
     private Meeting buildMeeting(MeetingRequest request) {
-        var unit = unitRepository
-                .findById(request.unitId())
-                .orElseThrow(() -> new IllegalArgumentException(request.unitId() + " does not exist"));
-
         return Meeting.builder()
                 .memberCount(request.memberCount())
                 .prayerPoint(request.prayerPoint())
-                .unit(unit)
+                .unit(unitRepository.getReferenceById(request.unitId()))
+                .meetingDate(request.meetingDate() != null ? request.meetingDate() : LocalDate.now())
                 .build();
     }
+
+    /**
+     * @param sign {@code 1} to add the meeting to its rollup buckets, {@code -1} to take it out
+     */
+    private static AttendanceRollups.Change rollupChange(MeetingDto meeting, int sign) {
+        return new AttendanceRollups.Change(
+                meeting.unitId(),
+                meeting.meetingDate(),
+                sign,
+                (long) sign * meeting.memberCount());
+    }
+
+    private List<Object[]> findKeysetAfter(Cursor cursor, Pageable pageable) {
+        return meetingRepository.findKeysetAfter(cursor.createdDate(), cursor.id(), pageable);
+    }
 }
@@ -0,0 +1,32 @@
+package meetona.meeting;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Writes of {@link MeetingRepository} that need SQL the query methods cannot express.
+ */
+public interface MeetingWrites {
+
+    /**
+     * Updates the meeting in place in a single statement, keeping its meeting date when the request
+     * has none. The request's member count is ignored, since check-ins keep it. Auditing is set by
+     * the caller.
+     *
+     * @return the meeting before and after the update, or empty if it does not exist
+     */
+    Optional<Updated> update(UUID id, MeetingRequest request, String updatedBy, Instant updatedDate);
+
+    /**
+     * Deletes the meeting and its attendances in a single statement.
+     *
+     * @return the deleted meeting, without its prayer point, or empty if it does not exist
+     */
+    Optional<MeetingDto> remove(UUID id);
+
+    /**
+     * @param previous the meeting before the update, without its prayer point
+     */
+    record Updated(MeetingDto previous, MeetingDto current) { }
+}
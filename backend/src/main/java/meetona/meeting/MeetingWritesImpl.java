@@ -0,0 +1,81 @@
+package meetona.meeting;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+class MeetingWritesImpl implements MeetingWrites {
+
+    /**
+     * The locked sub-select reads the previous values the rollups need, in the same statement. The
+     * member count is left alone: check-ins add to it, and the rollup deltas take it from the row.
+     */
+    private static final String UPDATE = """
+            UPDATE meetings m
+               SET prayer_point = ?,
+                   unit_id = ?,
+                   meeting_date = COALESCE(CAST(? AS DATE), old.meeting_date),
+                   updated_by = ?,
+                   updated_dt = ?,
+                   version = m.version + 1
+              FROM (SELECT id, unit_id, meeting_date, member_count FROM meetings WHERE id = ? FOR UPDATE) old
+             WHERE m.id = old.id AND m.meeting_date = old.meeting_date
+            RETURNING m.id, m.member_count, m.prayer_point, m.unit_id, m.meeting_date,
+                      old.member_count, old.unit_id, old.meeting_date""";
+
+    private static final String DELETE = """
+            WITH deleted AS (
+                DELETE FROM meetings WHERE id = ?
+                RETURNING id, member_count, unit_id, meeting_date),
+            attendances_deleted AS (
+                DELETE FROM attendances a USING deleted d WHERE a.meeting_id = d.id)
+            SELECT id, member_count, unit_id, meeting_date FROM deleted""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MeetingWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Updated> update(UUID id, MeetingRequest request, String updatedBy, Instant updatedDate) {
+        return jdbcTemplate.query(
+                UPDATE,
+                (rs, row) -> new Updated(
+                        new MeetingDto(
+                                rs.getObject(1, UUID.class),
+                                rs.getInt(6),
+                                null,
+                                rs.getObject(7, UUID.class),
+                                rs.getDate(8).toLocalDate()),
+                        new MeetingDto(
+                                rs.getObject(1, UUID.class),
+                                rs.getInt(2),
+                                rs.getString(3),
+                                rs.getObject(4, UUID.class),
+                                rs.getDate(5).toLocalDate())),
+                request.prayerPoint(),
+                request.unitId(),
+                request.meetingDate() != null ? Date.valueOf(request.meetingDate()) : null,
+                updatedBy,
+                Timestamp.from(updatedDate),
+                id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<MeetingDto> remove(UUID id) {
+        return jdbcTemplate.query(
+                DELETE,
+                (rs, row) -> new MeetingDto(
+                        rs.getObject(1, UUID.class),
+                        rs.getInt(2),
+                        null,
+                        rs.getObject(3, UUID.class),
+                        rs.getDate(4).toLocalDate()),
+                id).stream().findFirst();
+    }
+}
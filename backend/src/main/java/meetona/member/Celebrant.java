@@ -0,0 +1,26 @@
+package meetona.member;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A member's birthday or wedding anniversary falling on {@code date}; {@code years} is the age or
+ * the number of years married on that day.
+ */
+public record Celebrant(
+        UUID memberId,
+        String firstName,
+        String lastName,
+        UUID unitId,
+        String unit,
+        Occasion occasion,
+        LocalDate date,
+        int years
+) implements Serializable {
+
+    public enum Occasion {
+        BIRTHDAY,
+        ANNIVERSARY
+    }
+}
@@ -1,15 +1,26 @@
 package meetona.member;
 
+import meetona.shared.export.ExportFormat;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
+import meetona.shared.suggest.Suggestion;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface IMemberService {
-    ApiResponse<List<MemberDto>> getAll(Pageable pageable);
+    ApiResponse<List<MemberDto>> getAll(Pageable pageable, boolean total);
+    ApiResponse<PagedResponse<MemberDto>> getAll(String cursor, int size);
     ApiResponse<MemberDto> getById(UUID id);
+    void export(ExportFormat format, OutputStream output) throws IOException;
     ApiResponse<MemberDto> getByEmail(String email);
+    ApiResponse<PagedResponse<MemberDto>> search(String query, String cursor, int size);
+    ApiResponse<List<Suggestion>> suggest(String query, String type, int limit);
+    ApiResponse<List<Celebrant>> getCelebrants(UUID unitId, LocalDate from, LocalDate to);
     ApiResponse<MemberDto> add(MemberRequest request);
     ApiResponse<MemberDto> update(UUID id, MemberRequest request);
     ApiResponse<MemberDto> delete(UUID id);
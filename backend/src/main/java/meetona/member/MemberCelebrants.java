@@ -0,0 +1,194 @@
+package meetona.member;
+
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.response.ApiResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Finds members whose birthday or wedding anniversary falls in a date window.
+ * <p>
+ * Lookups go through the {@code birth_mmdd} and {@code marriage_mmdd} columns, so a window is one or,
+ * when it crosses the new year, two index ranges. Members born on 29 February are celebrated on
+ * 28 February in other years. Every day the upcoming week is computed once for all units and put in
+ * the {@code celebrants} cache under the keys {@link MemberService#getCelebrants} reads, so unit
+ * dashboards are served from the cache. The keys carry a {@code celebrants} generation of their own,
+ * bumped only by writes that change what a celebrant shows, so most member updates keep them.
+ */
+@Slf4j
+@Component
+public class MemberCelebrants {
+
+    /**
+     * Days in the window when the caller does not give an end date, starting today.
+     */
+    public static final int DEFAULT_DAYS = 7;
+
+    private static final String FIND = """
+            SELECT m.id, m.first_name, m.last_name, m.unit_id, u.name, m.%1$s_date
+              FROM members m
+              LEFT JOIN units u ON u.id = m.unit_id
+             WHERE (m.%1$s_mmdd BETWEEN ? AND ? OR m.%1$s_mmdd BETWEEN ? AND ?)
+               AND (CAST(? AS UUID) IS NULL OR m.unit_id = CAST(? AS UUID))""";
+
+    private static final String UNIT_IDS = "SELECT id FROM units";
+
+    private static final Comparator<Celebrant> ORDER = Comparator.comparing(Celebrant::date)
+            .thenComparing(Celebrant::occasion)
+            .thenComparing(Celebrant::lastName)
+            .thenComparing(Celebrant::firstName);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+
+    public MemberCelebrants(JdbcTemplate jdbcTemplate, CacheManager cacheManager, CacheGenerations cacheGenerations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.cacheGenerations = cacheGenerations;
+    }
+
+    /**
+     * The cache key of a window; {@link MemberService#getCelebrants} uses the same one.
+     */
+    public static String key(long generation, UUID unitId, LocalDate from, LocalDate to) {
+        return generation + ":" + unitId + ":" + from + ":" + to;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precomputeOnStartup() {
+        precompute();
+    }
+
+    /**
+     * Caches the celebrants of the next {@link #DEFAULT_DAYS} days for every unit and for all units together.
+     */
+    @Scheduled(cron = "${app.member.celebrants.cron:0 1 0 * * *}")
+    public void precompute() {
+        Cache cache = cacheManager.getCache("celebrants");
+
+        if (cache == null) {
+            return;
+        }
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(DEFAULT_DAYS - 1);
+        long generation = cacheGenerations.current("celebrants");
+        List<Celebrant> celebrants = find(null, from, to);
+
+        Map<UUID, List<Celebrant>> byUnit = celebrants.stream()
+                .filter(celebrant -> celebrant.unitId() != null)
+                .collect(Collectors.groupingBy(Celebrant::unitId));
+        List<UUID> unitIds = jdbcTemplate.queryForList(UNIT_IDS, UUID.class);
+
+        cache.put(key(generation, null, from, to), new ApiResponse<>(celebrants, true));
+        unitIds.forEach(unitId -> cache.put(
+                key(generation, unitId, from, to),
+                new ApiResponse<>(byUnit.getOrDefault(unitId, List.of()), true)));
+
+        log.info("Precomputed celebrants => {} from {} to {} across {} units", celebrants.size(), from, to, unitIds.size());
+    }
+
+    /**
+     * @param unitId only members of this unit, or {@code null} for all members
+     * @return birthdays and anniversaries between {@code from} and {@code to}, soonest first
+     */
+    public List<Celebrant> find(UUID unitId, LocalDate from, LocalDate to) {
+        int[] ranges = ranges(from, to);
+        List<Celebrant> celebrants = new ArrayList<>();
+
+        celebrants.addAll(find("birth", Celebrant.Occasion.BIRTHDAY, unitId, from, to, ranges));
+        celebrants.addAll(find("marriage", Celebrant.Occasion.ANNIVERSARY, unitId, from, to, ranges));
+        celebrants.sort(ORDER);
+        return celebrants;
+    }
+
+    private List<Celebrant> find(
+            String column,
+            Celebrant.Occasion occasion,
+            UUID unitId,
+            LocalDate from,
+            LocalDate to,
+            int[] ranges
+    ) {
+        List<Celebrant> celebrants = new ArrayList<>();
+
+        jdbcTemplate.query(
+                FIND.formatted(column),
+                rs -> {
+                    LocalDate date = rs.getDate(6).toLocalDate();
+                    LocalDate occurs = occurrence(date, from, to);
+
+                    if (occurs != null) {
+                        celebrants.add(new Celebrant(
+                                rs.getObject(1, UUID.class),
+                                rs.getString(2),
+                                rs.getString(3),
+                                rs.getObject(4, UUID.class),
+                                rs.getString(5),
+                                occasion,
+                                occurs,
+                                occurs.getYear() - date.getYear()));
+                    }
+                },
+                ranges[0], ranges[1], ranges[2], ranges[3], unitId, unitId);
+        return celebrants;
+    }
+
+    /**
+     * @return two inclusive MMDD ranges covering the window; the second is empty unless the window
+     * crosses the new year
+     */
+    static int[] ranges(LocalDate from, LocalDate to) {
+        if (!from.plusYears(1).isAfter(to)) {
+            return new int[] {101, 1231, 1, 0};
+        }
+
+        int start = mmdd(from);
+        int end = mmdd(to);
+
+        // 29 February birthdays are celebrated on the 28th when the year has no 29th.
+        if (end == 228 && !to.isLeapYear()) {
+            end = 229;
+        }
+
+        return start <= end
+                ? new int[] {start, end, 1, 0}
+                : new int[] {start, 1231, 101, end};
+    }
+
+    /**
+     * @return the first anniversary of {@code date} in the window, or {@code null} if there is none
+     */
+    static LocalDate occurrence(LocalDate date, LocalDate from, LocalDate to) {
+        MonthDay day = MonthDay.from(date);
+
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate candidate = day.atYear(year);
+
+            if (!candidate.isBefore(from) && !candidate.isAfter(to) && !candidate.isBefore(date)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static int mmdd(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+}
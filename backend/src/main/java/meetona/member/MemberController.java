@@ -1,13 +1,24 @@
 package meetona.member;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import meetona.shared.export.ExportFormat;
+import meetona.shared.export.ExportResponses;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
+import meetona.shared.suggest.Suggestion;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,14 +27,40 @@ import java.util.UUID;
 public class MemberController {
 
     private final IMemberService memberService;
+    private final MemberImporter memberImporter;
 
-    public MemberController(IMemberService memberService) {
+    public MemberController(IMemberService memberService, MemberImporter memberImporter) {
         this.memberService = memberService;
+        this.memberImporter = memberImporter;
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<MemberDto>>> getAll(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(memberService.getAll(pageable));
+    public ResponseEntity<ApiResponse<List<MemberDto>>> getAll(
+            @PageableDefault Pageable pageable,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        return ResponseEntity.ok(memberService.getAll(pageable, total));
+    }
+
+    @GetMapping(value = "/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PagedResponse<MemberDto>>> getAll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(memberService.getAll(cursor, size));
+    }
+
+    /**
+     * Downloads every member as CSV or NDJSON, written row by row as it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return ExportResponses.of("members", exportFormat, acceptEncoding,
+                output -> memberService.export(exportFormat, output));
     }
 
     @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -31,16 +68,73 @@ public class MemberController {
         return ResponseEntity.ok(memberService.getById(id));
     }
 
-    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/search", params = "email", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponse<MemberDto>> getByEmail(@RequestParam("email") String email) {
         return ResponseEntity.ok(memberService.getByEmail(email));
     }
 
+    /**
+     * Members whose names, email or phone number start with or resemble {@code q}, best matches first.
+     */
+    @GetMapping(value = "/search", params = "q", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PagedResponse<MemberDto>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(memberService.search(query, cursor, size));
+    }
+
+    /**
+     * Typeahead: member and unit names with a word starting with {@code q}. {@code type} narrows it to
+     * {@code member} or {@code unit} names.
+     */
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<Suggestion>>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(memberService.suggest(query, type, limit));
+    }
+
+    /**
+     * Birthdays and wedding anniversaries between {@code from} and {@code to}, soonest first. The window
+     * defaults to the coming week and may cross the new year.
+     */
+    @GetMapping(value = "/celebrants", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<Celebrant>>> getCelebrants(
+            @RequestParam(value = "unitId", required = false) UUID unitId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(MemberCelebrants.DEFAULT_DAYS - 1);
+        return ResponseEntity.ok(memberService.getCelebrants(unitId, start, end));
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ApiResponse<MemberDto>> add(@Valid @RequestBody MemberRequest request) {
         return ResponseEntity.ok(memberService.add(request));
     }
 
+    /**
+     * Imports members from a CSV or NDJSON body, streaming back one result line per row as rows are committed.
+     */
+    @PostMapping(
+            value = "/bulk",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importMembers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        InputStream input = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> memberImporter.importMembers(input, contentType, output));
+    }
+
     @PutMapping(
             value = "{id}",
             consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -1,7 +1,7 @@
 package meetona.member;
 
 import java.io.Serializable;
-import java.sql.Date;
+import java.time.LocalDate;
 import java.util.UUID;
 
 public record MemberDto(
@@ -12,8 +12,8 @@ public record MemberDto(
         Gender gender,
         String email,
         String phoneNumber,
-        Date birthDate,
-        Date marriageDate,
+        LocalDate birthDate,
+        LocalDate marriageDate,
         MaritalStatus maritalStatus,
         String unit
 ) implements Serializable { }
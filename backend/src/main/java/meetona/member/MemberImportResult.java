@@ -0,0 +1,25 @@
+package meetona.member;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk import. Rows are numbered from 1 and exclude the CSV header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberImportResult(
+        long row,
+        boolean success,
+        UUID id,
+        String message
+) {
+
+    static MemberImportResult created(long row, UUID id) {
+        return new MemberImportResult(row, true, id, null);
+    }
+
+    static MemberImportResult rejected(long row, String message) {
+        return new MemberImportResult(row, false, null, message);
+    }
+}
@@ -0,0 +1,417 @@
+package meetona.member;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import meetona.department.Department;
+import meetona.department.DepartmentRepository;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.IdFilters;
+import meetona.shared.entity.BaseEntity;
+import meetona.unit.Unit;
+import meetona.unit.UnitRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates members from a CSV or NDJSON stream and writes one {@link MemberImportResult} line per row.
+ * <p>
+ * Rows are read and validated one at a time and written in batches, each in its own transaction:
+ * one query per batch checks emails and phone numbers, units and departments are loaded once per
+ * import, and the inserts go out as JDBC batches. A batch that fails to commit rejects all its rows
+ * but does not stop the import. Memory use depends on the batch size, not on the number of rows.
+ * <p>
+ * CSV input needs a header row naming the {@link MemberRequest} fields; quoted values may span lines,
+ * and the {@code '} that {@link meetona.shared.export.ExportWriter} puts before formula-like values is
+ * dropped. NDJSON has one request per line.
+ */
+@Slf4j
+@Service
+public class MemberImporter {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * The cause is logged, not returned: it is a database error that may quote other rows and the schema.
+     */
+    private static final String BATCH_FAILED = "Not saved because its batch failed, try importing it again";
+
+    private final int batchSize;
+    private final Validator validator;
+    private final IdFilters idFilters;
+    private final MemberMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final UnitRepository unitRepository;
+    private final MemberRepository memberRepository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
+    private final MemberSearch memberSearch;
+    private final TransactionTemplate transactionTemplate;
+    private final DepartmentRepository departmentRepository;
+    private final MemberActionProducer memberActionProducer;
+
+    public MemberImporter(
+            Validator validator,
+            IdFilters idFilters,
+            MemberMapper mapper,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            UnitRepository unitRepository,
+            MemberRepository memberRepository,
+            CacheGenerations cacheGenerations,
+            EntityCounter entityCounter,
+            MemberSearch memberSearch,
+            PlatformTransactionManager transactionManager,
+            DepartmentRepository departmentRepository,
+            MemberActionProducer memberActionProducer,
+            @Value("${app.member.import.batch-size:500}") int batchSize
+    ) {
+        this.validator = validator;
+        this.idFilters = idFilters;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.unitRepository = unitRepository;
+        this.memberRepository = memberRepository;
+        this.cacheGenerations = cacheGenerations;
+        this.entityCounter = entityCounter;
+        this.memberSearch = memberSearch;
+        this.departmentRepository = departmentRepository;
+        this.memberActionProducer = memberActionProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public void importMembers(InputStream input, MediaType contentType, OutputStream output) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = TEXT_CSV.isCompatibleWith(contentType) ? readHeader(reader) : null;
+
+        var references = new References();
+        List<Row> batch = new ArrayList<>(batchSize);
+        long rows = 0;
+        long created = 0;
+        String line;
+
+        while ((line = header != null ? readRecord(reader) : reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(parse(++rows, line, header));
+
+            if (batch.size() == batchSize) {
+                created += write(importBatch(batch, references), output);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            created += write(importBatch(batch, references), output);
+        }
+
+        log.info("Imported members => {} of {} rows", created, rows);
+    }
+
+    private List<MemberImportResult> importBatch(List<Row> batch, References references) {
+        var results = new MemberImportResult[batch.size()];
+        Map<Integer, Member> accepted = new LinkedHashMap<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                references.resolve(batch);
+                Set<String> emails = new HashSet<>();
+                Set<String> phoneNumbers = new HashSet<>();
+                findTaken(batch, emails, phoneNumbers);
+
+                for (int i = 0; i < batch.size(); i++) {
+                    Row row = batch.get(i);
+                    String error = row.error() != null
+                            ? row.error()
+                            : check(row.request(), references, emails, phoneNumbers);
+
+                    if (error != null) {
+                        results[i] = MemberImportResult.rejected(row.number(), error);
+                    } else {
+                        accepted.put(i, buildMember(row.request(), references));
+                    }
+                }
+
+                memberRepository.saveAll(accepted.values());
+                memberRepository.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Member import batch failed => rows {}-{}",
+                    batch.get(0).number(), batch.get(batch.size() - 1).number(), ex);
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (results[i] == null || accepted.containsKey(i)) {
+                    results[i] = MemberImportResult.rejected(batch.get(i).number(), BATCH_FAILED);
+                }
+            }
+            return List.of(results);
+        }
+
+        accepted.forEach((i, member) -> results[i] = MemberImportResult.created(batch.get(i).number(), member.getId()));
+
+        if (!accepted.isEmpty()) {
+            cacheGenerations.bump("members");
+            cacheGenerations.bump("celebrants");
+            entityCounter.add("members", accepted.size());
+            idFilters.addAll("member", accepted.values().stream().map(Member::getId).toList());
+            accepted.values().forEach(member -> {
+                MemberDto memberDto = mapper.toDto(member);
+                memberSearch.indexed(memberDto);
+                memberActionProducer.sendMessage(memberDto);
+            });
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Collects the emails and phone numbers of the batch that are already taken, in a single query.
+     */
+    private void findTaken(List<Row> batch, Set<String> emails, Set<String> phoneNumbers) {
+        List<MemberRequest> requests = batch.stream()
+                .filter(row -> row.error() == null)
+                .map(Row::request)
+                .toList();
+
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> taken = memberRepository.findTaken(
+                requests.stream().map(MemberRequest::email).filter(Objects::nonNull).collect(Collectors.toSet()),
+                requests.stream().map(MemberRequest::phoneNumber).collect(Collectors.toSet()));
+
+        for (Object[] row : taken) {
+            emails.add((String) row[0]);
+            phoneNumbers.add((String) row[1]);
+        }
+    }
+
+    /**
+     * @return why the request cannot be imported, or {@code null}. Claims the email and phone number
+     * so later rows of the batch with the same ones are rejected.
+     */
+    private static String check(
+            MemberRequest request,
+            References references,
+            Set<String> emails,
+            Set<String> phoneNumbers
+    ) {
+        if (request.email() == null) {
+            return "Enter a valid email address";
+        }
+
+        if (references.units.get(request.unitId()) == null) {
+            return request.unitId() + " does not exist";
+        }
+
+        if (request.departmentId() != null && references.departments.get(request.departmentId()) == null) {
+            return request.departmentId() + " does not exist";
+        }
+
+        if (emails.contains(request.email())) {
+            return request.email() + " already exists";
+        }
+
+        if (phoneNumbers.contains(request.phoneNumber())) {
+            return request.phoneNumber() + " already exists";
+        }
+
+        emails.add(request.email());
+        phoneNumbers.add(request.phoneNumber());
+        return null;
+    }
+
+    private Row parse(long number, String line, List<String> header) {
+        try {
+            MemberRequest request = header == null
+                    ? objectMapper.readValue(line, MemberRequest.class)
+                    : objectMapper.convertValue(toFields(header, line), MemberRequest.class);
+
+            String violations = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+
+            return new Row(number, request, violations.isEmpty() ? null : violations);
+        } catch (JsonProcessingException ex) {
+            return new Row(number, null, "Could not read row: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            return new Row(number, null, "Could not read row: " + ex.getMessage());
+        }
+    }
+
+    private static List<String> readHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        return line != null ? splitCsv(line).stream().map(String::strip).toList() : List.of();
+    }
+
+    private static Map<String, String> toFields(List<String> header, String line) {
+        List<String> values = splitCsv(line);
+
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns, found " + values.size());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = unguard(values.get(i).strip());
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return fields;
+    }
+
+    /**
+     * @return the next CSV record, joining lines while a quoted value is open, or {@code null} at the end
+     */
+    static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+
+        if (line == null || !openQuote(line)) {
+            return line;
+        }
+
+        var record = new StringBuilder(line);
+        while (openQuote(record) && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Escaped quotes come in pairs, so an odd count means a quoted value is still open.
+     */
+    private static boolean openQuote(CharSequence text) {
+        return text.chars().filter(c -> c == '"').count() % 2 != 0;
+    }
+
+    /**
+     * Drops the {@code '} written before values a spreadsheet would read as a formula.
+     */
+    private static String unguard(String value) {
+        return value.length() > 1 && value.charAt(0) == '\'' && "=+-@\t\r".indexOf(value.charAt(1)) >= 0
+                ? value.substring(1)
+                : value;
+    }
+
+    /**
+     * Splits a CSV record on commas, honouring double-quoted values with {@code ""} as an escaped quote.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        var value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                value.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private long write(List<MemberImportResult> results, OutputStream output) throws IOException {
+        for (MemberImportResult result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+        return results.stream().filter(MemberImportResult::success).count();
+    }
+
+    private static Member buildMember(MemberRequest request, References references) {
+        return Member.builder()
+                .firstName(request.firstName())
+                .middleName(request.middleName())
+                .lastName(request.lastName())
+                .gender(request.gender())
+                .email(request.email())
+                .phoneNumber(request.phoneNumber())
+                .birthDate(request.birthDate())
+                .maritalStatus(request.maritalStatus())
+                .marriageDate(request.MarriageDate())
+                .unit(references.units.get(request.unitId()))
+                .department(request.departmentId() != null ? references.departments.get(request.departmentId()) : null)
+                .build();
+    }
+
+    private record Row(long number, MemberRequest request, String error) { }
+
+    /**
+     * Units and departments referenced so far by the import, loaded the first time an id shows up.
+     * Ids that do not exist map to {@code null}.
+     */
+    private final class References {
+
+        private final Map<UUID, Unit> units = new HashMap<>();
+        private final Map<UUID, Department> departments = new HashMap<>();
+
+        void resolve(List<Row> batch) {
+            List<MemberRequest> requests = batch.stream()
+                    .filter(row -> row.error() == null)
+                    .map(Row::request)
+                    .toList();
+
+            load(units, requests.stream().map(MemberRequest::unitId), unitRepository::findAllById);
+            load(departments, requests.stream().map(MemberRequest::departmentId), departmentRepository::findAllById);
+        }
+
+        private static <T extends BaseEntity> void load(
+                Map<UUID, T> known,
+                Stream<UUID> ids,
+                Function<Set<UUID>, List<T>> finder
+        ) {
+            Set<UUID> missing = ids
+                    .filter(id -> id != null && !known.containsKey(id))
+                    .collect(Collectors.toSet());
+
+            if (missing.isEmpty()) {
+                return;
+            }
+
+            finder.apply(missing).forEach(entity -> known.put(entity.getId(), entity));
+            missing.forEach(id -> known.putIfAbsent(id, null));
+        }
+    }
+}
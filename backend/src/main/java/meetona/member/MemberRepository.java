@@ -1,12 +1,87 @@
 package meetona.member;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface MemberRepository extends JpaRepository<Member, UUID>, MemberWrites {
+
+    /**
+     * {@link MemberDto} built in the select clause, with the unit name joined in the same statement.
+     */
+    String DTO = """
+            new meetona.member.MemberDto(
+                m.id, m.firstName, m.middleName, m.lastName, m.gender, m.email, m.phoneNumber,
+                m.birthDate, m.marriageDate, m.maritalStatus, u.name)""";
 
-public interface MemberRepository extends JpaRepository<Member, UUID> {
     Boolean existsByPhoneNumber(String name);
     Optional<Member> findByEmail(String email);
     Boolean existsByEmail(String email);
+    long countByUnitId(UUID unitId);
+
+    /**
+     * Emails and phone numbers among the given ones that already belong to a member, as (email, phone number) rows.
+     */
+    @Query("select m.email, m.phoneNumber from member m where m.email in :emails or m.phoneNumber in :phoneNumbers")
+    List<Object[]> findTaken(
+            @Param("emails") Collection<String> emails,
+            @Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("select m.id from member m")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UUID> streamAllIds();
+
+    @Query("select m.id, m.firstName, m.middleName, m.lastName from member m")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamNames();
+
+    @Query("select " + DTO + " from member m left join m.unit u order by m.createdDate, m.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<MemberDto> streamAllDtos();
+
+    @Query("select " + DTO + " from member m left join m.unit u")
+    Slice<MemberDto> findAllDtos(Pageable pageable);
+
+    @Query("select " + DTO + " from member m left join m.unit u where m.id = :id")
+    Optional<MemberDto> findDtoById(@Param("id") UUID id);
+
+    @Query("select " + DTO + " from member m left join m.unit u where m.email = :email")
+    Optional<MemberDto> findDtoByEmail(@Param("email") String email);
+
+    @Query("select m.createdDate, m.id, " + DTO + " from member m left join m.unit u order by m.createdDate, m.id")
+    List<Object[]> findKeysetFirst(Pageable pageable);
+
+    @Query("select m.createdDate, m.id, " + DTO + """
+             from member m left join m.unit u
+            where m.createdDate >= :createdDate
+              and (m.createdDate > :createdDate or m.id > :id)
+            order by m.createdDate, m.id""")
+    List<Object[]> findKeysetAfter(
+            @Param("createdDate") Instant createdDate,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * @return the number of rows deleted, 0 if the member does not exist
+     */
+    @Modifying
+    @Query("delete from member m where m.id = :id")
+    int removeById(@Param("id") UUID id);
 }
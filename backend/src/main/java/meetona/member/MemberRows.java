@@ -0,0 +1,38 @@
+package meetona.member;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Reads {@link MemberDto} from JDBC rows whose first columns follow the record's component order.
+ */
+final class MemberRows {
+
+    private MemberRows() { }
+
+    static MemberDto toDto(ResultSet rs) throws SQLException {
+        return new MemberDto(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                Gender.valueOf(rs.getString(5)),
+                rs.getString(6),
+                rs.getString(7),
+                localDate(rs.getDate(8)),
+                localDate(rs.getDate(9)),
+                MaritalStatus.valueOf(rs.getString(10)),
+                rs.getString(11));
+    }
+
+    static Date date(LocalDate value) {
+        return value != null ? Date.valueOf(value) : null;
+    }
+
+    private static LocalDate localDate(Date value) {
+        return value != null ? value.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package meetona.member;
+
+import meetona.shared.response.RankCursor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Prefix and typo-tolerant search over member names, email and phone number, ranked by similarity.
+ * <p>
+ * Prefix matches of a word rank above fuzzy ones. Results are ordered by descending score, then id,
+ * and paged by {@link RankCursor}.
+ */
+public interface MemberSearch {
+
+    /**
+     * @param query  lower-cased, at least {@link #MIN_QUERY_LENGTH} characters
+     * @param after  the last result of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of results
+     */
+    List<Result> search(String query, RankCursor after, int limit);
+
+    int MIN_QUERY_LENGTH = 3;
+
+    /**
+     * Keeps an in-process index up to date; the database index needs no help.
+     */
+    default void indexed(MemberDto member) { }
+
+    default void removed(UUID id) { }
+
+    record Result(MemberDto member, float score) { }
+}
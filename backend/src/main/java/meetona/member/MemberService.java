@@ -4,21 +4,40 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import meetona.department.Department;
 import meetona.department.DepartmentRepository;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.FilteredId;
+import meetona.shared.cache.IdFilters;
 import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.export.ExportFormat;
+import meetona.shared.export.ExportWriter;
 import meetona.unit.UnitRepository;
-import meetona.shared.exception.AppException;
 import meetona.shared.exception.InsertionFailedException;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.RankCursor;
+import meetona.shared.exception.BadRequestException;
+import meetona.shared.response.Cursor;
+import meetona.shared.response.PagedResponse;
+import meetona.shared.suggest.SuggestIndex;
+import meetona.shared.suggest.Suggestion;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,35 +45,78 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MemberService implements IMemberService {
 
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private static final int MAX_SUGGESTIONS = 25;
+
+    private final IdFilters idFilters;
+    private final ExportWriter exportWriter;
     private final MemberMapper mapper;
     private final UnitRepository unitRepository;
     private final MemberRepository memberRepository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
     private final DepartmentRepository departmentRepository;
     private final MemberActionProducer memberActionProducer;
+    private final AuditorAware<String> auditorAware;
+    private final MemberSearch memberSearch;
+    private final SuggestIndex suggestIndex;
+    private final MemberCelebrants memberCelebrants;
 
     @Override
-    @Cacheable("members")
-    public ApiResponse<List<MemberDto>> getAll(Pageable pageable) {
-        Page<Member> members = memberRepository.findAll(pageable);
+    @Cacheable(
+            value = "members",
+            key = "@cacheGenerations.current('members') + ':' + #pageable + ':' + #total",
+            sync = true)
+    public ApiResponse<List<MemberDto>> getAll(Pageable pageable, boolean total) {
+        Slice<MemberDto> memberDto = memberRepository.findAllDtos(pageable);
 
-        List<MemberDto> memberDto = members.stream()
-                .map(mapper::toDto)
-                .toList();
+        ApiResponse<List<MemberDto>> response = ApiResponse.of(memberDto, total ? entityCounter.total("members") : null);
 
-        ApiResponse<List<MemberDto>> response = new ApiResponse<>(memberDto, true);
+        log.info("Fetched units => {}", memberDto.getContent());
+        return response;
+    }
 
-        log.info("Fetched units => {}", memberDto);
+    @Override
+    @Cacheable(
+            value = "members",
+            key = "@cacheGenerations.current('members') + ':' + #cursor + ':' + #size",
+            sync = true)
+    public ApiResponse<PagedResponse<MemberDto>> getAll(String cursor, int size) {
+        int limit = PagedResponse.limit(size);
+        var pageable = PageRequest.ofSize(limit + 1);
+
+        List<Object[]> rows = cursor == null
+                ? memberRepository.findKeysetFirst(pageable)
+                : findKeysetAfter(Cursor.decode(cursor), pageable);
+
+        PagedResponse<MemberDto> page = PagedResponse.of(rows, limit);
+        var response = new ApiResponse<>(page, true);
+
+        log.info("Fetched members => {}", page.getContent());
         return response;
     }
 
     @Override
-    @Cacheable("member")
+    @FilteredId(value = "member", resource = "Member")
+    @Cacheable(value = "member", sync = true)
     public ApiResponse<MemberDto> getById(UUID id) {
-        Optional<Member> memberOptional = memberRepository.findById(id);
+        MemberDto memberDto = memberRepository
+                .findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Member", "id", id));
 
-        Member member = memberOptional.orElse(null); // Unwrap the Optional to get a Unit or null
+        var response = new ApiResponse<>(memberDto, true);
 
-        MemberDto memberDto = mapper.toDto(member);
+        log.info("Fetched unit => {}", memberDto);
+        return response;
+    }
+
+    @Override
+    @Cacheable(value = "member", sync = true)
+    public ApiResponse<MemberDto> getByEmail(String email) {
+        MemberDto memberDto = memberRepository
+                .findDtoByEmail(email)
+                .orElse(null);
 
         var response = new ApiResponse<>(memberDto, true);
 
@@ -62,21 +124,89 @@ public class MemberService implements IMemberService {
         return response;
     }
 
+    /**
+     * Streams every member in creation order, bypassing the cache. Runs in a read-only transaction
+     * so the driver honours the fetch size.
+     */
     @Override
-    @Cacheable("member")
-    public ApiResponse<MemberDto> getByEmail(String email) {
-        Optional<Member> memberOptional = memberRepository.findByEmail(email);
+    public void export(ExportFormat format, OutputStream output) throws IOException {
+        try (Stream<MemberDto> members = memberRepository.streamAllDtos()) {
+            long count = exportWriter.write(members, MemberDto.class, format, output);
+            log.info("Exported members => {} rows", count);
+        }
+    }
 
-        Member member = memberOptional.orElse(null);
+    /**
+     * Ranked by similarity rather than cached: queries are too varied for a cache to pay off.
+     */
+    @Override
+    public ApiResponse<PagedResponse<MemberDto>> search(String query, String cursor, int size) {
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
 
-        MemberDto memberDto = mapper.toDto(member);
+        if (normalized.length() < MemberSearch.MIN_QUERY_LENGTH || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search text must be between " + MemberSearch.MIN_QUERY_LENGTH
+                    + " and " + MAX_QUERY_LENGTH + " characters");
+        }
 
-        var response = new ApiResponse<>(memberDto, true);
+        int limit = PagedResponse.limit(size);
+        RankCursor after = cursor != null ? RankCursor.decode(cursor) : null;
+        List<MemberSearch.Result> results = memberSearch.search(normalized, after, limit + 1);
 
-        log.info("Fetched unit => {}", memberDto);
+        boolean last = results.size() <= limit;
+        List<MemberSearch.Result> page = last ? results : results.subList(0, limit);
+        List<MemberDto> content = page.stream()
+                .map(MemberSearch.Result::member)
+                .toList();
+
+        String nextCursor = null;
+        if (!last) {
+            MemberSearch.Result result = page.get(page.size() - 1);
+            nextCursor = new RankCursor(result.score(), result.member().id()).encode();
+        }
+
+        var response = new ApiResponse<>(new PagedResponse<>(content, content.size(), nextCursor, last), true);
+
+        log.info("Searched members => {} results for {}", content.size(), normalized);
         return response;
     }
 
+    /**
+     * Served from memory only, so it runs without a transaction and never takes a connection.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<List<Suggestion>> suggest(String query, String type, int limit) {
+        if (query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Suggestion text must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        Suggestion.Kind kind = type != null ? Suggestion.Kind.of(type) : null;
+        List<Suggestion> suggestions = suggestIndex.suggest(query, kind, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+
+        return new ApiResponse<>(suggestions, true);
+    }
+
+    /**
+     * Birthdays and anniversaries in the window, soonest first, for one unit or, without a unit, for
+     * everyone. The coming week is precomputed daily by {@link MemberCelebrants}.
+     */
+    @Override
+    @FilteredId(value = "unit", resource = "Unit")
+    @Cacheable(
+            value = "celebrants",
+            key = "T(meetona.member.MemberCelebrants).key(@cacheGenerations.current('celebrants'), #unitId, #from, #to)",
+            sync = true)
+    public ApiResponse<List<Celebrant>> getCelebrants(UUID unitId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || from.plusYears(1).isBefore(to)) {
+            throw new BadRequestException("Invalid range " + from + " to " + to);
+        }
+
+        List<Celebrant> celebrants = memberCelebrants.find(unitId, from, to);
+
+        log.info("Fetched celebrants => {} from {} to {}", celebrants.size(), from, to);
+        return new ApiResponse<>(celebrants, true);
+    }
+
     @Override
     @Transactional
     public ApiResponse<MemberDto> add(MemberRequest request) {
@@ -93,8 +223,13 @@ public class MemberService implements IMemberService {
 
         Member newMember = buildMember(request);
         memberRepository.save(newMember);
+        cacheGenerations.bump("members");
+        cacheGenerations.bump("celebrants");
+        entityCounter.add("members", 1);
+        idFilters.add("member", newMember.getId());
 
         MemberDto unitDto = mapper.toDto(newMember);
+        memberSearch.indexed(unitDto);
         var response = new ApiResponse<>(unitDto, true);
 
         memberActionProducer.sendMessage(unitDto);
@@ -103,18 +238,18 @@ public class MemberService implements IMemberService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "unit", key = "#unit.id")
+    @CacheEvict(value = "member", key = "#id")
     public ApiResponse<MemberDto> update(UUID id, MemberRequest request) {
-        boolean isUnitExists = memberRepository.existsById(id);
+        MemberWrites.Updated updated = memberRepository
+                .update(id, request, auditorAware.getCurrentAuditor().orElse(null), Instant.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Member", "id", id));
 
-        if(!isUnitExists) {
-            throw new AppException("Id does not exists");
+        cacheGenerations.bump("members");
+        if (updated.celebrantChanged()) {
+            cacheGenerations.bump("celebrants");
         }
-
-        Member newMember = buildMember(request);
-
-        memberRepository.save(newMember);
-        MemberDto updatedMember = mapper.toDto(newMember);
+        MemberDto updatedMember = updated.member();
+        memberSearch.indexed(updatedMember);
 
         var response = new ApiResponse<>(updatedMember, true);
 
@@ -124,15 +259,16 @@ public class MemberService implements IMemberService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "unit", key = "#id")
+    @CacheEvict(value = "member", key = "#id")
     public ApiResponse<MemberDto> delete(UUID id) {
-        boolean isUnitExists = memberRepository.existsById(id);
-
-        if(!isUnitExists){
-            throw new ResourceNotFoundException("User", "id", id);
+        if (memberRepository.removeById(id) == 0) {
+            throw new ResourceNotFoundException("Member", "id", id);
         }
 
-        memberRepository.deleteById(id);
+        cacheGenerations.bump("members");
+        cacheGenerations.bump("celebrants");
+        entityCounter.add("members", -1);
+        memberSearch.removed(id);
         MemberDto deletedMemberDto = new MemberDto(id, null, null, null, null, null, null, null, null, null, null);
 
         var response = new ApiResponse<>(deletedMemberDto, true);
@@ -141,19 +277,16 @@ public class MemberService implements IMemberService {
         return response;
     }
 
+    /**
+     * The unit is loaded because its name is part of the response; the department is only referenced.
+     */
     private Member buildMember(MemberRequest request) {
         var unit = unitRepository
                 .findById(request.unitId())
                 .orElseThrow(() -> new IllegalArgumentException(request.unitId() + " does not exist"));
 
-        Department department = null;
         UUID departmentId = request.departmentId();
-
-        if(departmentId != null) {
-            department = departmentRepository
-                    .findById(departmentId)
-                    .orElseThrow(() -> new IllegalArgumentException(request.departmentId() + " does not exist"));
-        }
+        Department department = departmentId != null ? departmentRepository.getReferenceById(departmentId) : null;
 
         return Member.builder()
                 .firstName(request.firstName())
@@ -169,4 +302,8 @@ public class MemberService implements IMemberService {
                 .department(department)
                 .build();
     }
+
+    private List<Object[]> findKeysetAfter(Cursor cursor, Pageable pageable) {
+        return memberRepository.findKeysetAfter(cursor.createdDate(), cursor.id(), pageable);
+    }
 }
@@ -0,0 +1,25 @@
+package meetona.member;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Writes of {@link MemberRepository} that need SQL the query methods cannot express.
+ */
+public interface MemberWrites {
+
+    /**
+     * Updates the member in place and reads back its {@link MemberDto}, unit name included, in a single
+     * statement. Auditing is set by the caller.
+     *
+     * @return the updated member, or empty if it does not exist
+     */
+    Optional<Updated> update(UUID id, MemberRequest request, String updatedBy, Instant updatedDate);
+
+    /**
+     * @param celebrantChanged whether a field {@link Celebrant} shows changed: the names, unit, birth or
+     *                         marriage date
+     */
+    record Updated(MemberDto member, boolean celebrantChanged) { }
+}
@@ -0,0 +1,66 @@
+package meetona.member;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+class MemberWritesImpl implements MemberWrites {
+
+    /**
+     * The locked sub-select reads the previous values needed to tell whether celebrants changed.
+     */
+    private static final String UPDATE = """
+            UPDATE members m
+               SET first_name = ?,
+                   middle_name = ?,
+                   last_name = ?,
+                   gender = ?,
+                   email = ?,
+                   phone_number = ?,
+                   birth_date = ?,
+                   marriage_date = ?,
+                   marital_status = ?,
+                   unit_id = ?,
+                   department_id = ?,
+                   updated_by = ?,
+                   updated_dt = ?,
+                   version = m.version + 1
+              FROM (SELECT id, first_name, last_name, unit_id, birth_date, marriage_date
+                      FROM members WHERE id = ? FOR UPDATE) old
+             WHERE m.id = old.id
+            RETURNING m.id, m.first_name, m.middle_name, m.last_name, m.gender, m.email, m.phone_number,
+                      m.birth_date, m.marriage_date, m.marital_status,
+                      (SELECT u.name FROM units u WHERE u.id = m.unit_id),
+                      ROW(m.first_name, m.last_name, m.unit_id, m.birth_date, m.marriage_date)
+                          IS DISTINCT FROM ROW(old.first_name, old.last_name, old.unit_id, old.birth_date, old.marriage_date)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MemberWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Updated> update(UUID id, MemberRequest request, String updatedBy, Instant updatedDate) {
+        return jdbcTemplate.query(
+                UPDATE,
+                (rs, row) -> new Updated(MemberRows.toDto(rs), rs.getBoolean(12)),
+                request.firstName(),
+                request.middleName(),
+                request.lastName(),
+                request.gender().name(),
+                request.email(),
+                request.phoneNumber(),
+                MemberRows.date(request.birthDate()),
+                MemberRows.date(request.MarriageDate()),
+                request.maritalStatus().name(),
+                request.unitId(),
+                request.departmentId(),
+                updatedBy,
+                Timestamp.from(updatedDate),
+                id).stream().findFirst();
+    }
+}
@@ -0,0 +1,147 @@
+package meetona.member;
+
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.response.RankCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process {@link MemberSearch} for the {@code test} profile, where the database may lack {@code pg_trgm}.
+ * <p>
+ * Keeps an inverted index from trigrams, padded per word the way {@code pg_trgm} pads them, to members.
+ * A member's score is the share of the query's trigrams it contains, which approximates the database's
+ * word similarity. The index is loaded once the application is ready and kept current by the member
+ * writes of this node.
+ */
+@Slf4j
+@Component
+@Profile("test")
+public class NgramMemberSearch implements MemberSearch {
+
+    private static final Comparator<Result> RANK = Comparator
+            .comparing(Result::score, Comparator.reverseOrder())
+            .thenComparing(result -> result.member().id());
+
+    private final double threshold;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+
+    public NgramMemberSearch(
+            MemberRepository memberRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.member.search.threshold:0.3}") double threshold
+    ) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<MemberDto> members = memberRepository.streamAllDtos()) {
+                members.forEach(this::indexed);
+            }
+        });
+        log.info("Loaded member search index => {} members, {} trigrams", entries.size(), postings.size());
+    }
+
+    @Override
+    public List<Result> search(String query, RankCursor after, int limit) {
+        Set<String> grams = trigrams(query);
+        Map<UUID, Integer> shared = new HashMap<>();
+
+        for (String gram : grams) {
+            postings.getOrDefault(gram, Set.of()).forEach(id -> shared.merge(id, 1, Integer::sum));
+        }
+
+        return shared.entrySet().stream()
+                .map(candidate -> score(candidate.getKey(), candidate.getValue(), grams.size(), query))
+                .filter(Objects::nonNull)
+                .filter(result -> after == null || after.isBefore(result.score(), result.member().id()))
+                .sorted(RANK)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void indexed(MemberDto member) {
+        removed(member.id());
+
+        String text = Stream.of(member.firstName(), member.middleName(), member.lastName(), member.email(), member.phoneNumber())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "))
+                .toLowerCase(Locale.ROOT);
+        Set<String> grams = trigrams(text);
+
+        entries.put(member.id(), new Entry(member, text, grams));
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(member.id()));
+    }
+
+    @Override
+    public void removed(UUID id) {
+        Entry entry = entries.remove(id);
+
+        if (entry != null) {
+            entry.grams().forEach(gram -> postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+    }
+
+    private Result score(UUID id, int shared, int queryGrams, String query) {
+        Entry entry = entries.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        float similarity = (float) shared / queryGrams;
+        boolean prefix = entry.text().startsWith(query) || entry.text().contains(" " + query);
+
+        if (similarity < threshold && !entry.text().contains(query)) {
+            return null;
+        }
+        return new Result(entry.member(), similarity + (prefix ? 1 : 0));
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+
+        for (String word : text.split("[^\\p{Alnum}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private record Entry(MemberDto member, String text, Set<String> grams) { }
+}
@@ -0,0 +1,84 @@
+package meetona.member;
+
+import meetona.shared.response.RankCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link MemberSearch} over the {@code pg_trgm} GIN index on {@code members.search_text}.
+ * <p>
+ * Candidates are rows whose text contains the query or has a word similar to it, both answered by
+ * the index; the word similarity threshold is set per transaction. The index returns candidates
+ * unordered and each one is scored and sorted, so at most {@code app.member.search.max-candidates}
+ * are taken, in index order. That bounds the cost of a common query, which then may miss better
+ * matches past the cap until more text is typed. Must run in a transaction.
+ */
+@Component
+@Profile("!test")
+public class TrigramMemberSearch implements MemberSearch {
+
+    private static final String THRESHOLD = "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)";
+
+    private static final String SEARCH = """
+            SELECT *
+              FROM (SELECT m.id, m.first_name, m.middle_name, m.last_name, m.gender, m.email, m.phone_number,
+                           m.birth_date, m.marriage_date, m.marital_status, u.name,
+                           CAST(word_similarity(?, m.search_text)
+                                + CASE WHEN m.search_text LIKE ? ESCAPE '\\' OR m.search_text LIKE ? ESCAPE '\\'
+                                       THEN 1 ELSE 0 END AS REAL) AS score
+                      FROM (SELECT id, first_name, middle_name, last_name, gender, email, phone_number,
+                                   birth_date, marriage_date, marital_status, unit_id, search_text
+                              FROM members
+                             WHERE ? <%% search_text OR search_text LIKE ? ESCAPE '\\'
+                             LIMIT ?) m
+                      LEFT JOIN units u ON u.id = m.unit_id) s
+             WHERE %s
+             ORDER BY s.score DESC, s.id
+             LIMIT ?""";
+
+    private static final String FIRST = "TRUE";
+
+    private static final String AFTER = "s.score < CAST(? AS REAL) OR (s.score = CAST(? AS REAL) AND s.id > ?)";
+
+    private final String threshold;
+    private final int maxCandidates;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TrigramMemberSearch(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.member.search.threshold:0.3}") double threshold,
+            @Value("${app.member.search.max-candidates:1000}") int maxCandidates
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threshold = String.valueOf(threshold);
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public List<Result> search(String query, RankCursor after, int limit) {
+        jdbcTemplate.queryForObject(THRESHOLD, String.class, threshold);
+
+        String like = escape(query);
+        List<Object> args = new ArrayList<>(List.of(
+                query, like + "%", "% " + like + "%", query, "%" + like + "%", maxCandidates));
+
+        if (after != null) {
+            args.addAll(List.of(after.score(), after.score(), after.id()));
+        }
+        args.add(limit);
+
+        return jdbcTemplate.query(
+                SEARCH.formatted(after != null ? AFTER : FIRST),
+                (rs, row) -> new Result(MemberRows.toDto(rs), rs.getFloat(12)),
+                args.toArray());
+    }
+
+    private static String escape(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
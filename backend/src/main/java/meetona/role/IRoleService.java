@@ -0,0 +1,9 @@
+package meetona.role;
+
+import meetona.shared.response.ApiResponse;
+
+import java.util.List;
+
+public interface IRoleService {
+    ApiResponse<List<RoleDto>> getAll();
+}
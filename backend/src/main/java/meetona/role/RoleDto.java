@@ -1,4 +1,12 @@
 package meetona.role;
 
-public record RoleDto() {
-}
+import meetona.shared.enums.AppRole;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record RoleDto(
+        UUID id,
+        AppRole name,
+        String description
+) implements Serializable { }
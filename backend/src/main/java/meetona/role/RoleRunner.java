@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import meetona.shared.enums.AppRole;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -14,6 +15,7 @@ public class RoleRunner implements CommandLineRunner {
     private final RoleRepository roleRepository;
 
     @Override
+    @CacheEvict(value = "roles", allEntries = true)
     public void run(String... args) throws Exception {
         boolean existsRoles = roleRepository.findAll().isEmpty();
 
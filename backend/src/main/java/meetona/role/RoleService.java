@@ -0,0 +1,33 @@
+package meetona.role;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.response.ApiResponse;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class RoleService implements IRoleService {
+
+    private final RoleMapper mapper;
+    private final RoleRepository roleRepository;
+
+    @Override
+    @Cacheable(value = "roles", key = "'all'", sync = true)
+    public ApiResponse<List<RoleDto>> getAll() {
+        List<RoleDto> roleDto = roleRepository.findAll().stream()
+                .map(mapper::toDto)
+                .toList();
+
+        var response = new ApiResponse<>(roleDto, true);
+
+        log.info("Fetched roles => {}", roleDto);
+        return response;
+    }
+}
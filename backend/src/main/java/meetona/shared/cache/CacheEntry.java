@@ -0,0 +1,12 @@
+package meetona.shared.cache;
+
+import java.io.Serializable;
+
+/**
+ * A cached value together with the time it was loaded, stored for caches with refresh-ahead
+ * so every node can tell how far into its TTL an entry is.
+ */
+public record CacheEntry(
+        Object value,
+        long writtenAt
+) implements Serializable { }
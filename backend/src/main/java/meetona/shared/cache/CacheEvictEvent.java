@@ -0,0 +1,26 @@
+package meetona.shared.cache;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Broadcast over the bus whenever a node evicts or clears a cache, so every other node drops
+ * the matching near-cache entry. A {@code null} key means the whole cache was cleared.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheEvictEvent extends RemoteApplicationEvent {
+
+    private String cacheName;
+    private String key;
+
+    public CacheEvictEvent(Object source, String originService, Destination destination, String cacheName, String key) {
+        super(source, originService, destination);
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+}
@@ -0,0 +1,31 @@
+package meetona.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheEvictListener {
+
+    private final ServiceMatcher serviceMatcher;
+    private final TwoLevelCacheManager cacheManager;
+
+    @EventListener
+    public void onCacheEvict(CacheEvictEvent event) {
+        if (serviceMatcher.isFromSelf(event)) {
+            return;
+        }
+
+        log.debug("Received eviction => {} {}", event.getCacheName(), event.getKey());
+
+        if (event.getKey() == null) {
+            cacheManager.clearLocal(event.getCacheName());
+        } else {
+            cacheManager.evictLocal(event.getCacheName(), event.getKey());
+        }
+    }
+}
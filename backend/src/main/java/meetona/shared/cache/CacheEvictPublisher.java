@@ -0,0 +1,28 @@
+package meetona.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheEvictPublisher {
+
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void publishEvict(String cacheName, String key) {
+        log.debug("Broadcasting eviction => {} {}", cacheName, key);
+        eventPublisher.publishEvent(new CacheEvictEvent(this, busProperties.getId(), destinationFactory.getDestination(null), cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        log.debug("Broadcasting clear => {}", cacheName);
+        eventPublisher.publishEvent(new CacheEvictEvent(this, busProperties.getId(), destinationFactory.getDestination(null), cacheName, null));
+    }
+}
@@ -0,0 +1,25 @@
+package meetona.shared.cache;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Broadcast over the bus after a list generation is bumped so other nodes update their local mirror.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheGenerationEvent extends RemoteApplicationEvent {
+
+    private String name;
+    private long generation;
+
+    public CacheGenerationEvent(Object source, String originService, Destination destination, String name, long generation) {
+        super(source, originService, destination);
+        this.name = name;
+        this.generation = generation;
+    }
+}
@@ -0,0 +1,116 @@
+package meetona.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-entity generation counters for paginated list caches.
+ * <p>
+ * The current generation is part of every list cache key, e.g.
+ * {@code @Cacheable(value = "members", key = "@cacheGenerations.current('members') + ':' + #pageable")},
+ * so bumping it after a write makes every cached page of that entity unreachable at once.
+ * Counters live in Redis and are mirrored locally; the mirror is kept current over the bus
+ * and resynced periodically in case an event was missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheGenerations {
+
+    private static final String KEY_PREFIX = "meetona:generation:";
+
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+    private final ServiceMatcher serviceMatcher;
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    public long current(String name) {
+        return generations.computeIfAbsent(name, this::load);
+    }
+
+    /**
+     * Bumps the generation of {@code name}. Inside a transaction the bump happens after commit,
+     * so a concurrent reader cannot repopulate the new generation with uncommitted state.
+     */
+    public void bump(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(name);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(name);
+            }
+        });
+    }
+
+    @EventListener
+    public void onGenerationChange(CacheGenerationEvent event) {
+        if (serviceMatcher.isFromSelf(event)) {
+            return;
+        }
+        advance(event.getName(), event.getGeneration());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.generation-resync:30000}")
+    public void resync() {
+        List<String> names = new ArrayList<>(generations.keySet());
+
+        if (names.isEmpty()) {
+            return;
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(names.stream().map(name -> KEY_PREFIX + name).toList());
+
+        if (values == null) {
+            return;
+        }
+
+        for (int i = 0; i < names.size(); i++) {
+            advance(names.get(i), parse(values.get(i)));
+        }
+    }
+
+    private void increment(String name) {
+        Long generation = redisTemplate.opsForValue().increment(KEY_PREFIX + name);
+
+        if (generation == null) {
+            return;
+        }
+
+        advance(name, generation);
+        eventPublisher.publishEvent(new CacheGenerationEvent(this, busProperties.getId(), destinationFactory.getDestination(null), name, generation));
+        log.debug("Bumped cache generation => {} {}", name, generation);
+    }
+
+    private void advance(String name, long generation) {
+        generations.merge(name, generation, Math::max);
+    }
+
+    private long load(String name) {
+        return parse(redisTemplate.opsForValue().get(KEY_PREFIX + name));
+    }
+
+    private static long parse(String value) {
+        return value == null ? 0L : Long.parseLong(value);
+    }
+}
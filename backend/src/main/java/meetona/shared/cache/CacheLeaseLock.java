@@ -0,0 +1,63 @@
+package meetona.shared.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lock that lets one node load a missing cache entry while the other nodes
+ * wait for it to appear in Redis. The lease expires on its own if the holder dies.
+ */
+@Slf4j
+public class CacheLeaseLock {
+
+    private static final String KEY_PREFIX = "meetona:lease:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final Duration leaseTime;
+    private final StringRedisTemplate redisTemplate;
+
+    public CacheLeaseLock(StringRedisTemplate redisTemplate, Duration leaseTime) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTime = leaseTime;
+    }
+
+    public Duration getLeaseTime() {
+        return leaseTime;
+    }
+
+    /**
+     * @return a token to pass to {@link #release}, or {@code null} if another node holds the lease
+     */
+    public String tryAcquire(String cacheName, String key) {
+        String token = UUID.randomUUID().toString();
+
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), token, leaseTime);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException ex) {
+            log.warn("Could not acquire cache lease for {} {}, loading without it", cacheName, key, ex);
+            return token;
+        }
+    }
+
+    public void release(String cacheName, String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(cacheName, key)), token);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release cache lease for {} {}", cacheName, key, ex);
+        }
+    }
+
+    private static String leaseKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
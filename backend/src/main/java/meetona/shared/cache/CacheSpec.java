@@ -0,0 +1,38 @@
+package meetona.shared.cache;
+
+import java.time.Duration;
+
+/**
+ * Per-cache settings for the shared Redis tier and the in-process near cache in front of it.
+ * <p>
+ * {@code refreshAhead} is the fraction of the TTL after which a hit reloads the entry in the
+ * background; {@code 0} disables it. Only use it for loaders that do not depend on the
+ * caller's thread (security context, open session), since they run on another thread.
+ */
+public record CacheSpec(
+        Duration ttl,
+        long localMaxSize,
+        Duration localTtl,
+        double refreshAhead
+) {
+
+    public static CacheSpec of(Duration ttl) {
+        return new CacheSpec(ttl, 1_000, ttl, 0);
+    }
+
+    public CacheSpec local(long maxSize, Duration ttl) {
+        Duration effectiveTtl = ttl.compareTo(this.ttl) < 0 ? ttl : this.ttl;
+        return new CacheSpec(this.ttl, maxSize, effectiveTtl, refreshAhead);
+    }
+
+    public CacheSpec refreshAhead(double fraction) {
+        if (fraction < 0 || fraction >= 1) {
+            throw new IllegalArgumentException("Refresh-ahead fraction must be in [0, 1): " + fraction);
+        }
+        return new CacheSpec(ttl, localMaxSize, localTtl, fraction);
+    }
+
+    public boolean isRefreshAhead() {
+        return refreshAhead > 0;
+    }
+}
@@ -0,0 +1,110 @@
+package meetona.shared.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import meetona.department.IDepartmentService;
+import meetona.role.IRoleService;
+import meetona.unit.IUnitService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the first pages of units and departments, and all roles, into the cache at startup.
+ * <p>
+ * Runs on {@link ApplicationReadyEvent}, after the seeding runners and before the readiness state
+ * switches to accepting traffic. Loads run in parallel and whatever is not done within the time
+ * budget is abandoned, so warming never holds startup back for longer than that.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final boolean enabled;
+    private final int pages;
+    private final int pageSize;
+    private final Duration timeout;
+    private final IRoleService roleService;
+    private final IUnitService unitService;
+    private final IDepartmentService departmentService;
+
+    public CacheWarmer(
+            IRoleService roleService,
+            IUnitService unitService,
+            IDepartmentService departmentService,
+            @Value("${app.cache.warm-up.enabled:true}") boolean enabled,
+            @Value("${app.cache.warm-up.pages:3}") int pages,
+            @Value("${app.cache.warm-up.page-size:10}") int pageSize,
+            @Value("${app.cache.warm-up.timeout:10s}") Duration timeout
+    ) {
+        this.roleService = roleService;
+        this.unitService = unitService;
+        this.departmentService = departmentService;
+        this.enabled = enabled;
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.timeout = timeout;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Callable<Object>> loads = new ArrayList<>();
+        loads.add(roleService::getAll);
+
+        // Page size must match @PageableDefault on the controllers for the keys to line up
+        for (int page = 0; page < pages; page++) {
+            var pageable = PageRequest.of(page, pageSize);
+            loads.add(() -> unitService.getAll(pageable, false));
+            loads.add(() -> departmentService.getAll(pageable, false));
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        try {
+            List<Future<Object>> results = executor.invokeAll(loads, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            long warmed = results.stream().filter(CacheWarmer::succeeded).count();
+
+            log.info("Warmed caches => {}/{} loads in {} ms",
+                    warmed, loads.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean succeeded(Future<Object> result) {
+        try {
+            result.get();
+            return true;
+        } catch (CancellationException ex) {
+            return false;
+        } catch (ExecutionException ex) {
+            log.warn("Cache warm-up load failed", ex.getCause());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
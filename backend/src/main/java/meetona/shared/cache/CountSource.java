@@ -0,0 +1,11 @@
+package meetona.shared.cache;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Exact row count an {@link EntityCounter} total is reconciled from.
+ */
+public record CountSource(
+        String name,
+        LongSupplier count
+) { }
@@ -0,0 +1,81 @@
+package meetona.shared.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-entity row totals for list responses, so listings never run {@code COUNT(*)} themselves.
+ * <p>
+ * Each total is counted from its {@link CountSource} once the application is ready and recounted
+ * periodically off the request path. In between, creates and deletes on this node adjust it, so
+ * it is exact as of the last recount plus local changes; changes made on other nodes show up at
+ * the next recount. Until the first count has completed the total is unknown.
+ */
+@Slf4j
+@Component
+public class EntityCounter {
+
+    private final Map<String, CountSource> sources;
+    private final ConcurrentMap<String, AtomicLong> totals = new ConcurrentHashMap<>();
+
+    public EntityCounter(List<CountSource> sources, MeterRegistry meterRegistry) {
+        this.sources = sources.stream().collect(Collectors.toMap(CountSource::name, source -> source));
+
+        this.sources.keySet().forEach(name -> Gauge
+                .builder("cache.entity.count", totals, map -> {
+                    AtomicLong total = map.get(name);
+                    return total != null ? total.get() : Double.NaN;
+                })
+                .tag("entity", name)
+                .register(meterRegistry));
+    }
+
+    /**
+     * @return the total, or {@code null} while it has not been counted yet
+     */
+    public Long total(String name) {
+        AtomicLong total = totals.get(name);
+        return total != null ? Math.max(total.get(), 0) : null;
+    }
+
+    public void add(String name, long delta) {
+        AtomicLong total = totals.get(name);
+
+        if (total != null) {
+            total.addAndGet(delta);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void countAll() {
+        sources.keySet().forEach(this::recount);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.cache.counts.refresh-interval:60000}",
+            fixedDelayString = "${app.cache.counts.refresh-interval:60000}")
+    public void recountAll() {
+        sources.keySet().forEach(this::recount);
+    }
+
+    public void recount(String name) {
+        try {
+            long count = sources.get(name).count().getAsLong();
+            totals.computeIfAbsent(name, key -> new AtomicLong()).set(count);
+        } catch (RuntimeException ex) {
+            log.warn("Could not count {}, keeping the previous total", name, ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package meetona.shared.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rejects calls whose first argument is an id that does not exist with a
+ * {@link meetona.shared.exception.ResourceNotFoundException}, before the cache is touched. Ids the named
+ * {@link IdFilters} filter knows go through; others are confirmed with an existence query first.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilteredId {
+
+    /**
+     * Name of the filter, which matches the name of the entity cache.
+     */
+    String value();
+
+    /**
+     * Resource name reported in the not-found error.
+     */
+    String resource();
+}
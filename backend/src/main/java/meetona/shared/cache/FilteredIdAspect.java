@@ -0,0 +1,34 @@
+package meetona.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import meetona.shared.exception.ResourceNotFoundException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Applies {@link FilteredId}. Runs ahead of the cache and transaction interceptors.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FilteredIdAspect {
+
+    private final IdFilters idFilters;
+
+    @Around("@annotation(filteredId)")
+    public Object filter(ProceedingJoinPoint joinPoint, FilteredId filteredId) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+
+        if (args.length > 0 && args[0] instanceof UUID id && !idFilters.mightContain(filteredId.value(), id)) {
+            throw new ResourceNotFoundException(filteredId.resource(), "id", id);
+        }
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,28 @@
+package meetona.shared.cache;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcast over the bus when ids are created so other nodes add them to their filter.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdFilterEvent extends RemoteApplicationEvent {
+
+    private String name;
+    private List<UUID> entityIds;
+
+    public IdFilterEvent(Object source, String originService, Destination destination, String name, List<UUID> entityIds) {
+        super(source, originService, destination);
+        this.name = name;
+        this.entityIds = entityIds;
+    }
+}
@@ -0,0 +1,277 @@
+package meetona.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-entity membership filters of known ids, used by {@link FilteredId} to answer lookups for ids
+ * that do not exist with a primary-key lookup instead of going through the cache and the full query.
+ * <p>
+ * Filters are built from each {@link IdSource} once the application is ready and rebuilt periodically,
+ * which is also how deleted ids are dropped. Created ids are added right away, broadcast over the bus
+ * and recorded in a Redis sorted set for {@code app.cache.id-filter.recent-retention}, which outlasts
+ * a rebuild. An id the filter has not seen is only looked up in the database when that set holds it,
+ * i.e. when it was created on another node whose broadcast has not arrived; any other miss is
+ * rejected, and remembered so that repeated lookups of it cost nothing. If Redis cannot be reached
+ * misses fall back to the database. Until a filter is built, or if building it failed, every id is
+ * let through.
+ */
+@Slf4j
+@Component
+public class IdFilters {
+
+    private static final String RECENT_PREFIX = "meetona:id-filter:recent:";
+
+    private static final Duration MISSING_TTL = Duration.ofMinutes(10);
+
+    /**
+     * Adds the ids scored by creation time, drops those older than the retention and renews the key.
+     */
+    private static final RedisScript<Long> RECORD = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local retention = tonumber(ARGV[2])
+            for i = 3, #ARGV do
+                redis.call('ZADD', KEYS[1], now, ARGV[i])
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - retention)
+            redis.call('PEXPIRE', KEYS[1], retention)
+            return #ARGV - 2""", Long.class);
+
+    private final double fpp;
+    private final long recentRetention;
+    private final StringRedisTemplate redisTemplate;
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+    private final ServiceMatcher serviceMatcher;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, IdSource> sources;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentMap<String, ScalableBloomFilter> filters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScalableBloomFilter> rebuilding = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache<UUID, Boolean>> missing = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> misses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> stale = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public IdFilters(
+            List<IdSource> sources,
+            BusProperties busProperties,
+            Destination.Factory destinationFactory,
+            ServiceMatcher serviceMatcher,
+            MeterRegistry meterRegistry,
+            StringRedisTemplate redisTemplate,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cache.id-filter.fpp:0.01}") double fpp,
+            @Value("${app.cache.id-filter.recent-retention:7200000}") long recentRetention,
+            @Value("${app.cache.id-filter.missing-size:100000}") long missingSize
+    ) {
+        this.fpp = fpp;
+        this.recentRetention = recentRetention;
+        this.redisTemplate = redisTemplate;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+        this.serviceMatcher = serviceMatcher;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.sources = sources.stream().collect(Collectors.toMap(IdSource::name, source -> source));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.sources.keySet().forEach(this::registerMeters);
+        this.sources.keySet().forEach(name -> missing.put(name, Caffeine.newBuilder()
+                .maximumSize(missingSize)
+                .expireAfterWrite(MISSING_TTL)
+                .build()));
+    }
+
+    /**
+     * @return {@code false} only if the id does not exist. An id the filter has not seen is looked up
+     * in the database only if it was created recently, since ids created on other nodes arrive over
+     * the bus late or, while the broker is down, not until the next rebuild. Ids found that way are
+     * added to the filter.
+     */
+    public boolean mightContain(String name, UUID id) {
+        ScalableBloomFilter filter = filters.get(name);
+
+        if (filter == null || filter.mightContain(id)) {
+            return true;
+        }
+
+        misses.get(name).increment();
+        Cache<UUID, Boolean> knownMissing = missing.get(name);
+
+        if (knownMissing.getIfPresent(id) != null) {
+            rejections.get(name).increment();
+            return false;
+        }
+
+        Boolean recent = createdRecently(name, id);
+
+        if (!Boolean.FALSE.equals(recent) && sources.get(name).exists().test(id)) {
+            stale.get(name).increment();
+            addLocal(name, id);
+            return true;
+        }
+
+        // A recent id not found yet may still be committing, so only settled misses are remembered
+        if (Boolean.FALSE.equals(recent)) {
+            knownMissing.put(id, Boolean.TRUE);
+        }
+        rejections.get(name).increment();
+        return false;
+    }
+
+    /**
+     * Records a created id here and on the other nodes. If the transaction rolls back the id stays
+     * in the filter as a false positive until the next rebuild.
+     */
+    public void add(String name, UUID id) {
+        addAll(name, List.of(id));
+    }
+
+    /**
+     * Records a batch of created ids with a single bus event.
+     */
+    public void addAll(String name, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(id -> addLocal(name, id));
+        recordRecent(name, ids);
+        eventPublisher.publishEvent(new IdFilterEvent(
+                this, busProperties.getId(), destinationFactory.getDestination(null), name, List.copyOf(ids)));
+    }
+
+    @EventListener
+    public void onIdAdded(IdFilterEvent event) {
+        if (serviceMatcher.isFromSelf(event)) {
+            return;
+        }
+        event.getEntityIds().forEach(id -> addLocal(event.getName(), id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        sources.keySet().forEach(this::rebuild);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.cache.id-filter.rebuild-interval:3600000}",
+            fixedDelayString = "${app.cache.id-filter.rebuild-interval:3600000}")
+    public void rebuildAll() {
+        sources.keySet().forEach(this::rebuild);
+    }
+
+    public void rebuild(String name) {
+        ScalableBloomFilter current = filters.get(name);
+        var filter = new ScalableBloomFilter(current != null ? current.size() : 0, fpp);
+
+        // Ids created while the query runs may be missing from its snapshot, so they are added to both filters
+        rebuilding.put(name, filter);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UUID> ids = sources.get(name).ids().get()) {
+                    ids.forEach(filter::add);
+                }
+            });
+            filters.put(name, filter);
+            log.info("Built id filter => {} ids {} bytes {}", name, filter.size(), filter.sizeInBytes());
+        } catch (RuntimeException ex) {
+            log.warn("Could not build id filter {}, keeping the previous one", name, ex);
+        } finally {
+            rebuilding.remove(name, filter);
+        }
+    }
+
+    /**
+     * @return whether the id was created within the retention, or {@code null} if Redis could not tell
+     */
+    private Boolean createdRecently(String name, UUID id) {
+        try {
+            Double createdAt = redisTemplate.opsForZSet().score(RECENT_PREFIX + name, id.toString());
+            return createdAt != null && createdAt >= System.currentTimeMillis() - recentRetention;
+        } catch (RuntimeException ex) {
+            log.warn("Could not read recent ids of {}, confirming {} in the database", name, id, ex);
+            return null;
+        }
+    }
+
+    private void recordRecent(String name, List<UUID> ids) {
+        List<String> args = new ArrayList<>(ids.size() + 2);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(recentRetention));
+        ids.forEach(id -> args.add(id.toString()));
+
+        try {
+            redisTemplate.execute(RECORD, List.of(RECENT_PREFIX + name), args.toArray());
+        } catch (RuntimeException ex) {
+            log.warn("Could not record {} recent ids of {}, other nodes learn them over the bus", ids.size(), name, ex);
+        }
+    }
+
+    private void addLocal(String name, UUID id) {
+        Cache<UUID, Boolean> knownMissing = missing.get(name);
+        if (knownMissing != null) {
+            knownMissing.invalidate(id);
+        }
+
+        ScalableBloomFilter filter = filters.get(name);
+        if (filter != null) {
+            filter.add(id);
+        }
+
+        ScalableBloomFilter next = rebuilding.get(name);
+        if (next != null) {
+            next.add(id);
+        }
+    }
+
+    private void registerMeters(String name) {
+        misses.put(name, meterRegistry.counter("cache.id.filter.misses", "filter", name));
+        stale.put(name, meterRegistry.counter("cache.id.filter.stale", "filter", name));
+        rejections.put(name, meterRegistry.counter("cache.id.filter.rejections", "filter", name));
+        gauge("cache.id.filter.fpp", name, ScalableBloomFilter::expectedFpp);
+        gauge("cache.id.filter.bytes", name, ScalableBloomFilter::sizeInBytes);
+        gauge("cache.id.filter.ids", name, ScalableBloomFilter::size);
+    }
+
+    private void gauge(String meter, String name, ToDoubleFunction<ScalableBloomFilter> value) {
+        Gauge.builder(meter, filters, map -> {
+                    ScalableBloomFilter filter = map.get(name);
+                    return filter != null ? value.applyAsDouble(filter) : Double.NaN;
+                })
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+}
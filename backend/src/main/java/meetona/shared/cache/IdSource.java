@@ -0,0 +1,17 @@
+package meetona.shared.cache;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keys-only query an {@link IdFilters} filter is rebuilt from. The stream is consumed inside a read-only transaction.
+ * {@code exists} confirms a recently created id the filter has not seen, since ids created on another
+ * node reach it late.
+ */
+public record IdSource(
+        String name,
+        Supplier<Stream<UUID>> ids,
+        Predicate<UUID> exists
+) { }
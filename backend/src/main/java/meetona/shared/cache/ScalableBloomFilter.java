@@ -0,0 +1,157 @@
+package meetona.shared.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over UUIDs that grows as ids are added.
+ * <p>
+ * Ids go into the newest slice; once it holds its capacity a slice twice the size with half the
+ * false-positive rate is appended. The first slice gets {@code fpp / 2}, so the compound rate stays
+ * below {@code fpp} however many ids are added. Like any Bloom filter it never reports a present
+ * id as absent, and ids cannot be removed.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long expectedIds, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be in (0, 1): " + fpp);
+        }
+        slices.add(new Slice(Math.max(expectedIds, 1_024), fpp * TIGHTENING));
+    }
+
+    public void add(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(h1 ^ id.getLeastSignificantBits()) | 1;
+
+        Slice slice = slices.get(slices.size() - 1);
+
+        if (slice.isFull()) {
+            slice = grow(slice);
+        }
+        slice.add(h1, h2);
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(h1 ^ id.getLeastSignificantBits()) | 1;
+
+        for (Slice slice : slices) {
+            if (slice.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of ids added, counting repeated adds of the same id
+     */
+    public long size() {
+        return slices.stream().mapToLong(slice -> slice.count.get()).sum();
+    }
+
+    public long sizeInBytes() {
+        return slices.stream().mapToLong(slice -> slice.bits.length() * (long) Long.BYTES).sum();
+    }
+
+    /**
+     * @return the expected false-positive probability at the current fill
+     */
+    public double expectedFpp() {
+        double miss = 1.0;
+
+        for (Slice slice : slices) {
+            miss *= 1.0 - slice.expectedFpp();
+        }
+        return 1.0 - miss;
+    }
+
+    private synchronized Slice grow(Slice full) {
+        Slice last = slices.get(slices.size() - 1);
+
+        if (last != full) {
+            return last;
+        }
+
+        Slice next = new Slice(full.capacity * GROWTH, full.fpp * TIGHTENING);
+        slices.add(next);
+        return next;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Slice {
+
+        private final long capacity;
+        private final double fpp;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        Slice(long capacity, double fpp) {
+            long words = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)) / Long.SIZE);
+
+            this.capacity = capacity;
+            this.fpp = fpp;
+            this.bits = new AtomicLongArray(Math.toIntExact(Math.max(words, 1)));
+            this.numBits = (long) bits.length() * Long.SIZE;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        void add(long h1, long h2) {
+            long combined = h1;
+
+            for (int i = 0; i < numHashes; i++) {
+                long index = Math.floorMod(combined, numBits);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+                combined += h2;
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(long h1, long h2) {
+            long combined = h1;
+
+            for (int i = 0; i < numHashes; i++) {
+                long index = Math.floorMod(combined, numBits);
+
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-numHashes * (double) count.get() / numBits), numHashes);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package meetona.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded in-process cache (L1) in front of the shared Redis cache (L2).
+ * <p>
+ * Reads are served from L1 when possible and fall back to L2, promoting hits into L1.
+ * Evictions and clears are applied to both tiers and broadcast so other nodes drop their L1 copy.
+ * <p>
+ * Misses through {@link #get(Object, Callable)} ({@code @Cacheable(sync = true)}) are single-flight:
+ * concurrent callers for the same key wait on one in-flight load, and with a {@link CacheLeaseLock}
+ * other nodes wait for the entry to show up in Redis instead of loading it themselves.
+ * <p>
+ * For caches with refresh-ahead, values are stored as {@link CacheEntry} and a hit on an entry past
+ * the configured fraction of its TTL reloads it in the background while the current value is returned.
+ * Those entries live under {@value #REFRESH_AHEAD_PREFIX}-prefixed Redis keys, so nodes still reading
+ * raw values from the unprefixed keys keep working during a rolling deploy; evictions drop both.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    static final String REFRESH_AHEAD_PREFIX = "v2:";
+
+    private final String name;
+    private final Cache remote;
+    private final CacheSpec spec;
+    private final CacheLeaseLock leaseLock;
+    private final Executor refreshExecutor;
+    private final CacheEvictPublisher publisher;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter leaseWaits;
+    private final Counter refreshes;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+
+    public TwoLevelCache(
+            String name,
+            Cache remote,
+            CacheSpec spec,
+            CacheEvictPublisher publisher,
+            CacheLeaseLock leaseLock,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.remote = remote;
+        this.spec = spec;
+        this.publisher = publisher;
+        this.leaseLock = leaseLock;
+        this.refreshExecutor = refreshExecutor;
+        this.loads = meterRegistry.counter("cache.loads", "cache", name);
+        this.coalescedLoads = meterRegistry.counter("cache.loads.coalesced", "cache", name);
+        this.leaseWaits = meterRegistry.counter("cache.loads.lease.waits", "cache", name);
+        this.refreshes = meterRegistry.counter("cache.refreshes", "cache", name);
+        this.local = Caffeine.newBuilder()
+                .maximumSize(spec.localMaxSize())
+                .expireAfterWrite(spec.localTtl())
+                .build();
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        Object stored = lookup(key, localKey(key));
+        return stored != null ? new SimpleValueWrapper(unwrap(stored)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object stored = lookup(key, localKey);
+
+        if (stored != null) {
+            refreshIfDue(key, localKey, stored, valueLoader);
+            return (T) unwrap(stored);
+        }
+
+        var load = new CompletableFuture<Object>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, load);
+
+        if (existing != null) {
+            coalescedLoads.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            Object value = loadOnce(key, localKey, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(localKey, load);
+        }
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        Object stored = wrap(value);
+
+        remote.put(remoteKey(key), stored);
+        local.put(localKey(key), toStoreValue(stored));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        Object stored = wrap(value);
+        ValueWrapper existing = remote.putIfAbsent(remoteKey(key), stored);
+        Object current = existing != null ? existing.get() : stored;
+
+        local.put(localKey(key), toStoreValue(current));
+        return existing != null ? new SimpleValueWrapper(unwrap(current)) : null;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        String localKey = localKey(key);
+
+        remote.evict(remoteKey(key));
+        if (spec.isRefreshAhead()) {
+            remote.evict(key);
+        }
+        local.invalidate(localKey);
+        publisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        String localKey = localKey(key);
+
+        boolean evicted = remote.evictIfPresent(remoteKey(key));
+        if (spec.isRefreshAhead()) {
+            evicted |= remote.evictIfPresent(key);
+        }
+        local.invalidate(localKey);
+        publisher.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * @return the stored form of the value (possibly {@link NullValue} or {@link CacheEntry}), or {@code null} on a miss
+     */
+    private Object lookup(Object key, String localKey) {
+        Object stored = local.getIfPresent(localKey);
+
+        if (stored != null) {
+            return stored;
+        }
+
+        ValueWrapper wrapper = remote.get(remoteKey(key));
+
+        if (wrapper == null) {
+            return null;
+        }
+
+        stored = toStoreValue(wrapper.get());
+        local.put(localKey, stored);
+        return stored;
+    }
+
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader) {
+        Object stored = lookup(key, localKey);
+
+        if (stored != null) {
+            return unwrap(stored);
+        }
+
+        if (leaseLock == null) {
+            return load(key, valueLoader);
+        }
+
+        String token = leaseLock.tryAcquire(name, localKey);
+
+        if (token == null) {
+            stored = awaitRemote(key, localKey);
+            if (stored != null) {
+                return unwrap(stored);
+            }
+            token = leaseLock.tryAcquire(name, localKey);
+        }
+
+        try {
+            return load(key, valueLoader);
+        } finally {
+            if (token != null) {
+                leaseLock.release(name, localKey, token);
+            }
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        loads.increment();
+
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Polls Redis while another node holds the lease, for at most the lease time.
+     */
+    private Object awaitRemote(Object key, String localKey) {
+        leaseWaits.increment();
+        long deadline = System.nanoTime() + leaseLock.getLeaseTime().toNanos();
+
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            ValueWrapper wrapper = remote.get(remoteKey(key));
+            if (wrapper != null) {
+                Object stored = toStoreValue(wrapper.get());
+                local.put(localKey, stored);
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    private void refreshIfDue(Object key, String localKey, Object stored, Callable<?> valueLoader) {
+        if (!spec.isRefreshAhead() || refreshExecutor == null) {
+            return;
+        }
+
+        // Cached nulls are not wrapped, so they have no load time and are refreshed right away
+        long writtenAt = stored instanceof CacheEntry entry ? entry.writtenAt() : 0L;
+        long refreshAfter = (long) (spec.ttl().toMillis() * spec.refreshAhead());
+
+        if (System.currentTimeMillis() - writtenAt < refreshAfter || !refreshing.add(localKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> refresh(key, localKey, writtenAt, valueLoader));
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(localKey);
+            log.warn("Refresh of {} {} rejected", name, localKey);
+        }
+    }
+
+    private void refresh(Object key, String localKey, long writtenAt, Callable<?> valueLoader) {
+        String token = null;
+
+        try {
+            // Another node may already have refreshed it, in which case only the near cache is stale
+            ValueWrapper wrapper = remote.get(remoteKey(key));
+            if (wrapper != null && wrapper.get() instanceof CacheEntry entry && entry.writtenAt() > writtenAt) {
+                local.put(localKey, entry);
+                return;
+            }
+
+            if (leaseLock != null) {
+                token = leaseLock.tryAcquire(name, localKey);
+                if (token == null) {
+                    return;
+                }
+            }
+
+            Object value = valueLoader.call();
+            put(key, value);
+            refreshes.increment();
+        } catch (Exception ex) {
+            log.warn("Refresh of {} {} failed, keeping the current value", name, localKey, ex);
+        } finally {
+            if (token != null) {
+                leaseLock.release(name, localKey, token);
+            }
+            refreshing.remove(localKey);
+        }
+    }
+
+    private Object wrap(Object value) {
+        return spec.isRefreshAhead() && value != null ? new CacheEntry(value, System.currentTimeMillis()) : value;
+    }
+
+    /**
+     * @return the Redis key of the entry, prefixed for refresh-ahead caches whose stored form differs
+     */
+    private Object remoteKey(Object key) {
+        return spec.isRefreshAhead() ? REFRESH_AHEAD_PREFIX + localKey(key) : key;
+    }
+
+    private static Object unwrap(Object stored) {
+        if (stored == NullValue.INSTANCE) {
+            return null;
+        }
+        return stored instanceof CacheEntry entry ? entry.value() : stored;
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static String localKey(Object key) {
+        return key instanceof String stringKey ? stringKey : String.valueOf(key);
+    }
+
+    private static Object toStoreValue(Object value) {
+        return value != null ? value : NullValue.INSTANCE;
+    }
+}
@@ -0,0 +1,91 @@
+package meetona.shared.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds a {@link TwoLevelCache} for every cache name, using the Redis cache of the same name as L2.
+ * Writes are deferred until the surrounding transaction commits. The lease lock is optional, and the
+ * executor is only used by caches with refresh-ahead.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheSpec defaultSpec;
+    private final Map<String, CacheSpec> specs;
+    private final CacheLeaseLock leaseLock;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final CacheEvictPublisher publisher;
+    private final RedisCacheManager redisCacheManager;
+
+    public TwoLevelCacheManager(
+            RedisCacheManager redisCacheManager,
+            CacheSpec defaultSpec,
+            Map<String, CacheSpec> specs,
+            CacheEvictPublisher publisher,
+            CacheLeaseLock leaseLock,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisCacheManager = redisCacheManager;
+        this.defaultSpec = defaultSpec;
+        this.specs = specs;
+        this.publisher = publisher;
+        this.leaseLock = leaseLock;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        setTransactionAware(true);
+    }
+
+    @Override
+    @NonNull
+    protected Collection<? extends Cache> loadCaches() {
+        return specs.keySet().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(@NonNull String name) {
+        return createCache(name);
+    }
+
+    public void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = lookupTwoLevelCache(cacheName);
+
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = lookupTwoLevelCache(cacheName);
+
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoLevelCache lookupTwoLevelCache(String cacheName) {
+        Cache cache = lookupCache(cacheName);
+
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        CacheSpec spec = specs.getOrDefault(name, defaultSpec);
+        return new TwoLevelCache(name, remote, spec, publisher, leaseLock, refreshExecutor, meterRegistry);
+    }
+}
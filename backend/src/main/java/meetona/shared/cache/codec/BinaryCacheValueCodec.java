@@ -0,0 +1,476 @@
+package meetona.shared.cache.codec;
+
+import meetona.department.DepartmentDto;
+import meetona.meeting.MeetingDto;
+import meetona.member.Celebrant;
+import meetona.member.Gender;
+import meetona.member.MaritalStatus;
+import meetona.member.MemberDto;
+import meetona.shared.cache.CacheEntry;
+import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
+import meetona.unit.UnitDto;
+import meetona.user.dtos.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact schema-aware encoding for the cached response DTOs.
+ * <p>
+ * Record components are written in declaration order without field names, strings as
+ * length-prefixed UTF-8, enums as ordinals and dates as epoch days. Anything without a
+ * schema is embedded as JSON. Changing a cached record or reordering one of its enums
+ * requires bumping {@link #SCHEMA_VERSION}; entries written with a newer or incompatible
+ * schema are treated as cache misses. Versions 2 ({@code CACHE_ENTRY}), 3 ({@code PAGED_RESPONSE}),
+ * 4 ({@code SLICE_RESPONSE}), 5 ({@code DATED_MEETING}), 6 ({@code CELEBRANT}), 7
+ * ({@code REFRESHABLE_USER}) and 8 ({@code USER_PROFILE}) only added tags, so entries written with an
+ * older version are still readable. Users are cached without their tokens; tokens in older entries
+ * are skipped.
+ */
+public class BinaryCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 2;
+    static final byte SCHEMA_VERSION = 8;
+
+    private static final byte NULL = 0;
+    private static final byte API_RESPONSE = 1;
+    private static final byte LIST = 2;
+    private static final byte STRING = 3;
+    private static final byte UUID_VALUE = 4;
+    private static final byte CACHE_ENTRY = 5;
+    private static final byte PAGED_RESPONSE = 6;
+    private static final byte SLICE_RESPONSE = 7;
+    private static final byte MEMBER = 10;
+    private static final byte UNIT = 11;
+    private static final byte DEPARTMENT = 12;
+    private static final byte MEETING = 13;
+    private static final byte USER = 14;
+    private static final byte DATED_MEETING = 15;
+    private static final byte CELEBRANT = 16;
+    private static final byte REFRESHABLE_USER = 17;
+    private static final byte USER_PROFILE = 18;
+    private static final byte JSON = 127;
+
+    private static final Gender[] GENDERS = Gender.values();
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+    private static final Celebrant.Occasion[] OCCASIONS = Celebrant.Occasion.values();
+
+    private final JsonCacheValueCodec fallback = new JsonCacheValueCodec();
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        var out = new Output(256);
+        out.writeByte(SCHEMA_VERSION);
+        writeValue(out, value);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes, int offset, int length) {
+        var in = new Input(bytes, offset, length);
+
+        byte version = in.readByte();
+
+        if (version < 1 || version > SCHEMA_VERSION) {
+            return null;
+        }
+        return readValue(in);
+    }
+
+    private void writeValue(Output out, Object value) {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case ApiResponse<?> response when response.getHasNext() != null || response.getTotal() != null -> {
+                out.writeByte(SLICE_RESPONSE);
+                writeValue(out, response.getData());
+                out.writeBoolean(response.getSuccess());
+                out.writeBoolean(Boolean.TRUE.equals(response.getHasNext()));
+                out.writeVarLong(response.getTotal() != null ? response.getTotal() + 1 : 0);
+            }
+            case ApiResponse<?> response -> {
+                out.writeByte(API_RESPONSE);
+                writeValue(out, response.getData());
+                out.writeBoolean(response.getSuccess());
+            }
+            case List<?> list -> {
+                out.writeByte(LIST);
+                out.writeVarInt(list.size());
+                for (Object element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case String string -> {
+                out.writeByte(STRING);
+                out.writeString(string);
+            }
+            case UUID uuid -> {
+                out.writeByte(UUID_VALUE);
+                out.writeUuid(uuid);
+            }
+            case CacheEntry entry -> {
+                out.writeByte(CACHE_ENTRY);
+                out.writeVarLong(entry.writtenAt());
+                writeValue(out, entry.value());
+            }
+            case PagedResponse<?> page -> {
+                out.writeByte(PAGED_RESPONSE);
+                writeValue(out, page.getContent());
+                out.writeVarInt(page.getSize());
+                out.writeString(page.getNextCursor());
+                out.writeBoolean(page.isLast());
+            }
+            case MemberDto member -> {
+                out.writeByte(MEMBER);
+                out.writeUuid(member.id());
+                out.writeString(member.firstName());
+                out.writeString(member.middleName());
+                out.writeString(member.lastName());
+                out.writeEnum(member.gender());
+                out.writeString(member.email());
+                out.writeString(member.phoneNumber());
+                out.writeDate(member.birthDate());
+                out.writeDate(member.marriageDate());
+                out.writeEnum(member.maritalStatus());
+                out.writeString(member.unit());
+            }
+            case UnitDto unit -> {
+                out.writeByte(UNIT);
+                out.writeUuid(unit.id());
+                out.writeString(unit.name());
+                out.writeString(unit.address());
+            }
+            case DepartmentDto department -> {
+                out.writeByte(DEPARTMENT);
+                out.writeUuid(department.id());
+                out.writeString(department.name());
+                out.writeString(department.lead());
+            }
+            case MeetingDto meeting -> {
+                out.writeByte(DATED_MEETING);
+                out.writeUuid(meeting.id());
+                out.writeVarInt(meeting.memberCount());
+                out.writeString(meeting.prayerPoint());
+                out.writeUuid(meeting.unitId());
+                out.writeDate(meeting.meetingDate());
+            }
+            case UserDto user -> {
+                out.writeByte(USER_PROFILE);
+                out.writeUuid(user.id());
+                out.writeString(user.username());
+                out.writeString(user.email());
+                out.writeStrings(user.roles());
+                out.writeUuid(user.memberId());
+            }
+            case Celebrant celebrant -> {
+                out.writeByte(CELEBRANT);
+                out.writeUuid(celebrant.memberId());
+                out.writeString(celebrant.firstName());
+                out.writeString(celebrant.lastName());
+                out.writeUuid(celebrant.unitId());
+                out.writeString(celebrant.unit());
+                out.writeEnum(celebrant.occasion());
+                out.writeDate(celebrant.date());
+                out.writeVarInt(celebrant.years());
+            }
+            default -> {
+                byte[] json = fallback.encode(value);
+                out.writeByte(JSON);
+                out.writeVarInt(json.length);
+                out.writeBytes(json);
+            }
+        }
+    }
+
+    private Object readValue(Input in) {
+        byte tag = in.readByte();
+
+        return switch (tag) {
+            case NULL -> null;
+            case API_RESPONSE -> {
+                Object data = readValue(in);
+                yield new ApiResponse<>(data, in.readBoolean());
+            }
+            case SLICE_RESPONSE -> {
+                Object data = readValue(in);
+                boolean success = in.readBoolean();
+                boolean hasNext = in.readBoolean();
+                long total = in.readVarLong();
+                yield new ApiResponse<>(data, success, hasNext, total > 0 ? total - 1 : null);
+            }
+            case LIST -> {
+                int size = in.readVarInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case STRING -> in.readString();
+            case UUID_VALUE -> in.readUuid();
+            case CACHE_ENTRY -> {
+                long writtenAt = in.readVarLong();
+                yield new CacheEntry(readValue(in), writtenAt);
+            }
+            case PAGED_RESPONSE -> {
+                @SuppressWarnings("unchecked")
+                List<Object> content = (List<Object>) readValue(in);
+                yield new PagedResponse<>(content, in.readVarInt(), in.readString(), in.readBoolean());
+            }
+            case MEMBER -> new MemberDto(
+                    in.readUuid(),
+                    in.readString(),
+                    in.readString(),
+                    in.readString(),
+                    in.readEnum(GENDERS),
+                    in.readString(),
+                    in.readString(),
+                    in.readDate(),
+                    in.readDate(),
+                    in.readEnum(MARITAL_STATUSES),
+                    in.readString());
+            case UNIT -> new UnitDto(in.readUuid(), in.readString(), in.readString());
+            case DEPARTMENT -> new DepartmentDto(in.readUuid(), in.readString(), in.readString());
+            case MEETING -> new MeetingDto(in.readUuid(), in.readVarInt(), in.readString(), in.readUuid(), null);
+            case DATED_MEETING -> new MeetingDto(
+                    in.readUuid(),
+                    in.readVarInt(),
+                    in.readString(),
+                    in.readUuid(),
+                    in.readDate());
+            case USER_PROFILE -> readUser(in);
+            case USER, REFRESHABLE_USER -> {
+                UserDto user = readUser(in);
+                in.readString();
+                if (tag == REFRESHABLE_USER) {
+                    in.readString();
+                }
+                yield user;
+            }
+            case CELEBRANT -> new Celebrant(
+                    in.readUuid(),
+                    in.readString(),
+                    in.readString(),
+                    in.readUuid(),
+                    in.readString(),
+                    in.readEnum(OCCASIONS),
+                    in.readDate(),
+                    in.readVarInt());
+            case JSON -> {
+                int length = in.readVarInt();
+                int offset = in.skip(length);
+                yield fallback.decode(in.bytes, offset, length);
+            }
+            default -> throw new IllegalStateException("Unknown cache value tag " + tag);
+        };
+    }
+
+    private static UserDto readUser(Input in) {
+        return new UserDto(in.readUuid(), in.readString(), in.readString(), in.readStrings(), in.readUuid(), null, null);
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBoolean(Boolean value) {
+            writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes);
+        }
+
+        void writeStrings(List<String> values) {
+            if (values == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(values.size() + 1);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeUuid(UUID value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+
+        void writeEnum(Enum<?> value) {
+            writeVarInt(value == null ? 0 : value.ordinal() + 1);
+        }
+
+        void writeDate(LocalDate value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            long epochDay = value.toEpochDay();
+            writeVarLong((epochDay << 1) ^ (epochDay >> 63));
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int offset, int length) {
+            if (offset + length > bytes.length) {
+                throw new IllegalArgumentException("Truncated cache value");
+            }
+            this.bytes = bytes;
+            this.position = offset;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        int skip(int length) {
+            int start = position;
+            position += length;
+            return start;
+        }
+
+        Boolean readBoolean() {
+            byte value = readByte();
+            return value == 0 ? null : value == 2;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = readByte();
+                result |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return result;
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        List<String> readStrings() {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        UUID readUuid() {
+            if (readByte() == 0) {
+                return null;
+            }
+            return new UUID(readLong(), readLong());
+        }
+
+        <E extends Enum<E>> E readEnum(E[] values) {
+            int ordinal = readVarInt() - 1;
+            return ordinal < 0 ? null : values[ordinal];
+        }
+
+        LocalDate readDate() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long zigzag = readVarLong();
+            long epochDay = (zigzag >>> 1) ^ -(zigzag & 1);
+            return LocalDate.ofEpochDay(epochDay);
+        }
+
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package meetona.shared.cache.codec;
+
+/**
+ * Encodes cache values for Redis. Each codec has a stable id which is written into the
+ * entry header by {@link VersionedCacheSerializer}, so entries written by one codec stay
+ * readable after the configured codec changes.
+ */
+public interface CacheValueCodec {
+
+    byte id();
+
+    byte[] encode(Object value);
+
+    /**
+     * @return the decoded value, or {@code null} if the payload uses a schema this codec cannot read
+     */
+    Object decode(byte[] bytes, int offset, int length);
+}
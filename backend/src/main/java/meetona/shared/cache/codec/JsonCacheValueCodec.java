@@ -0,0 +1,37 @@
+package meetona.shared.cache.codec;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.Arrays;
+
+/**
+ * The original cache format: JSON with embedded {@code @class} type metadata. Dates, which the
+ * original serializer could not write at all, are written as ISO strings.
+ */
+public class JsonCacheValueCodec implements CacheValueCodec {
+
+    public static final byte ID = 1;
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer()
+            .configure(mapper -> mapper
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes, int offset, int length) {
+        byte[] payload = offset == 0 && length == bytes.length ? bytes : Arrays.copyOfRange(bytes, offset, offset + length);
+        return serializer.deserialize(payload);
+    }
+}
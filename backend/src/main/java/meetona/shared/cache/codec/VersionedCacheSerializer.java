@@ -0,0 +1,76 @@
+package meetona.shared.cache.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.List;
+
+/**
+ * Redis value serializer that prefixes every entry with a two byte header: a magic byte and the
+ * id of the codec that wrote it. Entries are always decoded with the codec that wrote them, and
+ * headerless entries are read as the original JSON format, so nodes on different versions can
+ * share the cache during a rolling deploy. The JSON codec writes entries without a header, exactly
+ * as nodes without this serializer do.
+ */
+public class VersionedCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB7;
+    private static final int HEADER_LENGTH = 2;
+
+    private final CacheValueCodec writer;
+    private final CacheValueCodec[] readers = new CacheValueCodec[128];
+
+    public VersionedCacheSerializer(CacheValueCodec writer, List<CacheValueCodec> readers) {
+        this.writer = writer;
+        this.readers[writer.id()] = writer;
+        readers.forEach(reader -> this.readers[reader.id()] = reader);
+    }
+
+    public static VersionedCacheSerializer of(String codec) {
+        var json = new JsonCacheValueCodec();
+        var binary = new BinaryCacheValueCodec();
+        CacheValueCodec writer = "json".equalsIgnoreCase(codec) ? json : binary;
+        return new VersionedCacheSerializer(writer, List.of(json, binary));
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] payload = writer.encode(value);
+
+        // Written without a header, JSON entries stay readable by nodes that predate the header.
+        if (writer.id() == JsonCacheValueCodec.ID) {
+            return payload;
+        }
+
+        byte[] bytes = new byte[payload.length + HEADER_LENGTH];
+
+        bytes[0] = MAGIC;
+        bytes[1] = writer.id();
+        System.arraycopy(payload, 0, bytes, HEADER_LENGTH, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes[0] != MAGIC) {
+            return readers[JsonCacheValueCodec.ID].decode(bytes, 0, bytes.length);
+        }
+
+        byte id = bytes.length > 1 ? bytes[1] : -1;
+        CacheValueCodec reader = id >= 0 ? readers[id] : null;
+
+        if (reader == null) {
+            return null;
+        }
+
+        try {
+            return reader.decode(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Could not read cache entry written by codec " + id, ex);
+        }
+    }
+}
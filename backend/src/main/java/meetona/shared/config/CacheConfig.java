@@ -1,33 +1,144 @@
 package meetona.shared.config;
 
+import meetona.shared.cache.CacheEvictEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import meetona.department.DepartmentRepository;
+import meetona.meeting.MeetingRepository;
+import meetona.member.MemberRepository;
+import meetona.shared.cache.CacheEvictPublisher;
+import meetona.shared.cache.CacheLeaseLock;
+import meetona.shared.cache.CacheSpec;
+import meetona.shared.cache.CountSource;
+import meetona.shared.cache.IdSource;
+import meetona.shared.cache.TwoLevelCacheManager;
+import meetona.shared.cache.codec.VersionedCacheSerializer;
+import meetona.unit.UnitRepository;
+import meetona.user.UserRepository;
+import meetona.user.security.TokenRevokedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
+@RemoteApplicationEventScan(basePackageClasses = {CacheEvictEvent.class, TokenRevokedEvent.class})
 public class CacheConfig {
 
+    private static final CacheSpec DEFAULT_SPEC = CacheSpec.of(Duration.ofMinutes(10))
+            .local(1_000, Duration.ofMinutes(1));
+
+    private static final Map<String, CacheSpec> CACHE_SPECS = Map.of(
+            "units", CacheSpec.of(Duration.ofHours(6)).local(500, Duration.ofMinutes(10)).refreshAhead(0.8),
+            "departments", CacheSpec.of(Duration.ofHours(6)).local(500, Duration.ofMinutes(10)).refreshAhead(0.8),
+            "members", CacheSpec.of(Duration.ofHours(1)).local(1_000, Duration.ofMinutes(5)),
+            "meetings", CacheSpec.of(Duration.ofHours(1)).local(1_000, Duration.ofMinutes(5)),
+            "users", CacheSpec.of(Duration.ofHours(1)).local(500, Duration.ofMinutes(5)),
+            "unit", CacheSpec.of(Duration.ofMinutes(1)).local(10_000, Duration.ofSeconds(30)).refreshAhead(0.75),
+            "department", CacheSpec.of(Duration.ofMinutes(10)).local(1_000, Duration.ofMinutes(1)).refreshAhead(0.75),
+            "roles", CacheSpec.of(Duration.ofHours(6)).local(10, Duration.ofMinutes(10)).refreshAhead(0.8),
+            "member", CacheSpec.of(Duration.ofMinutes(10)).local(10_000, Duration.ofMinutes(1)),
+            "celebrants", CacheSpec.of(Duration.ofHours(25)).local(1_000, Duration.ofMinutes(5))
+    );
+
+    /**
+     * Entries are written as plain JSON unless {@code app.cache.codec} is {@code binary}. Switch to
+     * {@code binary} only once every node runs with {@link VersionedCacheSerializer}, since older nodes
+     * cannot read binary entries.
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheEvictPublisher cacheEvictPublisher,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            ObjectProvider<AsyncTaskExecutor> taskExecutor,
+            @Value("${app.cache.codec:json}") String codec,
+            @Value("${app.cache.lease.enabled:false}") boolean leaseEnabled,
+            @Value("${app.cache.lease.time:2s}") Duration leaseTime
+    ) {
+        var serializer = VersionedCacheSerializer.of(codec);
+        var builder = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(cacheConfiguration(DEFAULT_SPEC.ttl(), serializer));
+
+        CACHE_SPECS.forEach((name, spec) ->
+                builder.withCacheConfiguration(name, cacheConfiguration(spec.ttl(), serializer)));
+
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+
+        CacheLeaseLock leaseLock = leaseEnabled ? new CacheLeaseLock(redisTemplate, leaseTime) : null;
+        // The virtual-thread executor from AsyncConfig when enabled, otherwise Boot's task executor
+        AsyncTaskExecutor refreshExecutor = taskExecutor.getIfUnique(() -> new SimpleAsyncTaskExecutor("cache-refresh-"));
+
+        return new TwoLevelCacheManager(
+                redisCacheManager,
+                DEFAULT_SPEC,
+                CACHE_SPECS,
+                cacheEvictPublisher,
+                leaseLock,
+                refreshExecutor,
+                meterRegistry);
+    }
+
+    @Bean
+    public IdSource unitIds(UnitRepository unitRepository) {
+        return new IdSource("unit", unitRepository::streamAllIds, unitRepository::existsById);
+    }
+
+    @Bean
+    public IdSource memberIds(MemberRepository memberRepository) {
+        return new IdSource("member", memberRepository::streamAllIds, memberRepository::existsById);
+    }
+
+    @Bean
+    public IdSource meetingIds(MeetingRepository meetingRepository) {
+        return new IdSource("meeting", meetingRepository::streamAllIds, meetingRepository::existsById);
+    }
+
+    @Bean
+    public CountSource unitCount(UnitRepository unitRepository) {
+        return new CountSource("units", unitRepository::count);
+    }
+
+    @Bean
+    public CountSource departmentCount(DepartmentRepository departmentRepository) {
+        return new CountSource("departments", departmentRepository::count);
+    }
+
+    @Bean
+    public CountSource memberCount(MemberRepository memberRepository) {
+        return new CountSource("members", memberRepository::count);
+    }
+
+    @Bean
+    public CountSource meetingCount(MeetingRepository meetingRepository) {
+        return new CountSource("meetings", meetingRepository::count);
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfiguration(Duration.ofMinutes(10)).disableCachingNullValues())
-                .withCacheConfiguration("units", cacheConfiguration(Duration.ofMinutes(5)))
-                .withCacheConfiguration("unit", cacheConfiguration(Duration.ofMinutes(1)))
-                .build();
+    public CountSource userCount(UserRepository userRepository) {
+        return new CountSource("users", userRepository::count);
     }
 
-    private RedisCacheConfiguration cacheConfiguration(Duration duration) {
+    private RedisCacheConfiguration cacheConfiguration(Duration duration, RedisSerializer<Object> serializer) {
         return RedisCacheConfiguration
                 .defaultCacheConfig()
                 .entryTtl(duration)
-                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(serializer));
     }
 }
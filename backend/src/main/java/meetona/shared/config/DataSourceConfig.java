@@ -0,0 +1,75 @@
+package meetona.shared.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import meetona.shared.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing, enabled with {@code app.datasource.replicas.enabled=true}. The primary keeps
+ * its usual {@code spring.datasource} settings; replicas reuse its credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:}") String username,
+            @Value("${app.datasource.replicas.password:}") String password,
+            @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${app.datasource.replicas.max-lag:10s}") Duration maxLag
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+
+        for (int i = 0; i < urls.size(); i++) {
+            var replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).strip());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, stickyWindow, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Lagging replicas only take reads off the primary, so they never take the application down
+        return () -> Health.up().withDetails(replicaRoutingDataSource.status()).build();
+    }
+}
@@ -0,0 +1,24 @@
+package meetona.shared.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Groups inserts and updates into JDBC batches. Ids are UUIDs generated before the insert, so
+     * nothing forces Hibernate to execute statements one by one. Values set in the external config win.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package meetona.shared.config;
 
 import meetona.shared.constants.RabbitConstants;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
@@ -42,6 +43,14 @@ public class RabbitConfig implements RabbitListenerConfigurer {
         return new Queue(RabbitConstants.MEETING_QUEUE);
     }
 
+    /**
+     * Per-node queue for the suggestion index, so every node sees every member and unit change.
+     */
+    @Bean
+    public Queue suggestQueue() {
+        return new AnonymousQueue();
+    }
+
     @Bean
     public TopicExchange topicExchange() {
         return new TopicExchange(RabbitConstants.EXCHANGE);
@@ -60,6 +69,14 @@ public class RabbitConfig implements RabbitListenerConfigurer {
                 BindingBuilder.bind(unitQueue).to(topicExchange).with(RabbitConstants.UNIT_ROUTING_KEY),
                 BindingBuilder.bind(memberQueue).to(topicExchange).with(RabbitConstants.MEMBER_ROUTING_KEY),
                 BindingBuilder.bind(meetingQueue).to(topicExchange).with(RabbitConstants.MEETING_ROUTING_KEY)
+);
+    }
+
+    @Bean
+    public Declarables suggestBindings(final Queue suggestQueue, final TopicExchange topicExchange) {
+        return new Declarables(
+                BindingBuilder.bind(suggestQueue).to(topicExchange).with(RabbitConstants.UNIT_ROUTING_KEY),
+                BindingBuilder.bind(suggestQueue).to(topicExchange).with(RabbitConstants.MEMBER_ROUTING_KEY)
         );
     }
     
@@ -0,0 +1,181 @@
+package meetona.shared.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so
+ * the physical connection is only taken once the transaction's read-only flag is known.
+ * <p>
+ * Once a user opens a read-write transaction, their reads stay on the primary for the sticky
+ * window so they see their own writes. Stickiness is kept per node. Replicas whose replay lag
+ * exceeds the limit, or which cannot be queried, are skipped until they catch up; with no usable
+ * replica reads go to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    /**
+     * Seconds the replica is behind, or 0 when it has replayed everything it received.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private final Duration maxLag;
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> sticky;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    private volatile List<String> healthy;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas,
+            Duration stickyWindow,
+            Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxLag = maxLag;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.healthy = List.copyOf(this.replicas.keySet());
+        this.sticky = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", PRIMARY);
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica");
+        this.replicas.keySet().forEach(name -> Gauge
+                .builder("datasource.replica.lag", lags, map -> map.getOrDefault(name, Double.NaN))
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .register(meterRegistry));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                sticky.put(user, Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+
+        List<String> candidates = healthy;
+
+        if (candidates.isEmpty() || (user != null && sticky.getIfPresent(user) != null)) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+
+        replicaReads.increment();
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measures each replica's lag and takes lagging or unreachable ones out of rotation.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:5000}")
+    public void checkLag() {
+        List<String> usable = replicas.entrySet().stream()
+                .filter(replica -> isUsable(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        if (!usable.equals(healthy)) {
+            log.warn("Replicas in rotation changed => {} of {}", usable, replicas.keySet());
+        }
+        healthy = usable;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        replicas.keySet().forEach(name -> status.put(name, Map.of(
+                "lagSeconds", lags.getOrDefault(name, Double.NaN),
+                "inRotation", healthy.contains(name))));
+        return status;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean isUsable(String name, DataSource replica) {
+        double lag;
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            lag = rs.getDouble(1);
+        } catch (SQLException ex) {
+            log.warn("Could not check replica lag => {}", name, ex);
+            lag = Double.NaN;
+        }
+
+        lags.put(name, lag);
+        return !Double.isNaN(lag) && lag <= maxLag.toMillis() / 1000.0;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
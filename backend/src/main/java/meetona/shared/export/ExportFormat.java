@@ -0,0 +1,36 @@
+package meetona.shared.export;
+
+import meetona.shared.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String format) {
+        try {
+            return valueOf(format.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package meetona.shared.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public final class ExportResponses {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Wraps an export body in a download response, gzip-compressed when the client accepts it.
+     */
+    public static ResponseEntity<StreamingResponseBody> of(
+            String name,
+            ExportFormat format,
+            String acceptEncoding,
+            StreamingResponseBody body
+    ) {
+        var headers = new HttpHeaders();
+        headers.setContentType(format.mediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.extension())
+                .build());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (!acceptsGzip(acceptEncoding)) {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return ResponseEntity.ok().headers(headers).body(output -> {
+            var gzip = new GZIPOutputStream(output, GZIP_BUFFER_SIZE);
+            body.writeTo(gzip);
+            gzip.finish();
+        });
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.strip().split(";"))
+                .anyMatch(coding -> coding[0].strip().equalsIgnoreCase("gzip") && !isRefused(coding));
+    }
+
+    private static boolean isRefused(String[] coding) {
+        return coding.length > 1 && coding[1].strip().matches("q=0(\\.0{0,3})?");
+    }
+}
@@ -0,0 +1,132 @@
+package meetona.shared.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of record rows as CSV (header row plus one line per record) or NDJSON.
+ * <p>
+ * Rows are written as they are read, so the stream should come from a forward-only query with a
+ * fetch size. Every chunk of rows the output is flushed and the persistence context cleared, which
+ * keeps memory flat however many rows are exported.
+ * <p>
+ * CSV text cells starting with a character a spreadsheet would read as a formula ({@code = + - @},
+ * tab or carriage return) are prefixed with {@code '} so they open as text.
+ */
+@Component
+public class ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    private final int chunkSize;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public ExportWriter(
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            @Value("${app.export.chunk-size:1000}") int chunkSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the number of rows written
+     */
+    public <T extends Record> long write(
+            Stream<T> rows,
+            Class<T> type,
+            ExportFormat format,
+            OutputStream output
+    ) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordComponent[] columns = type.getRecordComponents();
+        ObjectWriter json = objectMapper.writerFor(type);
+
+        if (format == ExportFormat.CSV) {
+            writeCsvHeader(columns, writer);
+        }
+
+        long count = 0;
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            T row = iterator.next();
+
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(row, columns, writer);
+            } else {
+                writer.write(json.writeValueAsString(row));
+            }
+            writer.write('\n');
+
+            if (++count % chunkSize == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvHeader(RecordComponent[] columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns[i].getName());
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Record row, RecordComponent[] columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(value(row, columns[i])));
+        }
+    }
+
+    private static Object value(Record row, RecordComponent column) {
+        try {
+            return column.getAccessor().invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Could not read " + column.getName() + " of " + row.getClass(), ex);
+        }
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_START.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
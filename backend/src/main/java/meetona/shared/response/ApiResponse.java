@@ -1,6 +1,10 @@
 package meetona.shared.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 @Data
 public class ApiResponse<T> {
@@ -8,6 +12,18 @@ public class ApiResponse<T> {
     private T data;
     private Boolean success;
 
+    /**
+     * Set on list responses only: whether a next page exists.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+
+    /**
+     * Set on list responses when the total was asked for and is known.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
     public ApiResponse() {
     }
 
@@ -15,4 +31,15 @@ public class ApiResponse<T> {
         this.data = data;
         this.success = success;
     }
+
+    public ApiResponse(T data, Boolean success, Boolean hasNext, Long total) {
+        this.data = data;
+        this.success = success;
+        this.hasNext = hasNext;
+        this.total = total;
+    }
+
+    public static <T> ApiResponse<List<T>> of(Slice<T> slice, Long total) {
+        return new ApiResponse<>(slice.getContent(), true, slice.hasNext(), total);
+    }
 }
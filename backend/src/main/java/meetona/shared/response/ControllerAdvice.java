@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import meetona.shared.exception.*;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -137,6 +139,31 @@ public class ControllerAdvice {
         return apiResponse;
     }
 
+    /**
+     * Writes attach related records by reference, so a missing one surfaces as a constraint violation.
+     */
+    @ExceptionHandler(value = DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ApiResponse<String> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        log.warn("Write rejected by a constraint => {}", ex.getMostSpecificCause().getMessage());
+        var apiResponse = new ApiResponse<String>();
+        apiResponse.setSuccess(false);
+        apiResponse.setData("The request references a record that does not exist or conflicts with an existing one");
+        return apiResponse;
+    }
+
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<ApiResponse<String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        var apiResponse = new ApiResponse<String>();
+        apiResponse.setSuccess(false);
+        apiResponse.setData(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiResponse);
+    }
+
     @ExceptionHandler(value = UsernameNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ResponseBody
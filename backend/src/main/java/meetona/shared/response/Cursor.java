@@ -0,0 +1,46 @@
+package meetona.shared.response;
+
+import meetona.shared.exception.BadRequestException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a {@code (created_dt, id)} keyset, handed to clients as an opaque URL-safe token.
+ */
+public record Cursor(
+        Instant createdDate,
+        UUID id
+) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static Cursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+
+            if (buffer.remaining() != LENGTH) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            Instant createdDate = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new Cursor(createdDate, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(createdDate.getEpochSecond())
+                .putInt(createdDate.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -3,27 +3,55 @@ package meetona.shared.response;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * One page of a keyset listing. {@code nextCursor} continues after the last element and is
+ * {@code null} on the last page.
+ */
 @Data
 @NoArgsConstructor
 public class PagedResponse<T> {
 
+    public static final int MAX_SIZE = 100;
+
     private List<T> content;
-    private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private String nextCursor;
     private boolean last;
 
-    public PagedResponse(List<T> content, int page, int size, long totalElements, int totalPages, boolean last) {
+    public PagedResponse(List<T> content, int size, String nextCursor, boolean last) {
         this.content = content;
-        this.page = page;
         this.size = size;
-        this.totalElements = totalElements;
-        this.totalPages = totalPages;
+        this.nextCursor = nextCursor;
         this.last = last;
     }
 
-}
+    /**
+     * @param rows up to {@code size + 1} keyset rows of {@code (created_dt, id, dto)}; the extra row
+     *             only signals that more follow
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PagedResponse<T> of(List<Object[]> rows, int size) {
+        boolean last = rows.size() <= size;
+        List<Object[]> page = last ? rows : rows.subList(0, size);
+
+        List<T> content = page.stream()
+                .map(row -> (T) row[2])
+                .toList();
+
+        String nextCursor = null;
 
+        if (!last) {
+            Object[] row = page.get(page.size() - 1);
+            nextCursor = new Cursor((Instant) row[0], (UUID) row[1]).encode();
+        }
+        return new PagedResponse<>(content, content.size(), nextCursor, last);
+    }
+
+    public static int limit(int size) {
+        return Math.clamp(size, 1, MAX_SIZE);
+    }
+}
@@ -0,0 +1,51 @@
+package meetona.shared.response;
+
+import meetona.shared.exception.BadRequestException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a {@code (score desc, id)} keyset of ranked results, handed to clients as an opaque
+ * URL-safe token.
+ */
+public record RankCursor(
+        float score,
+        UUID id
+) {
+
+    private static final int LENGTH = Float.BYTES + 2 * Long.BYTES;
+
+    public static RankCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+
+            if (buffer.remaining() != LENGTH) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            float score = buffer.getFloat();
+            return new RankCursor(score, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putFloat(score)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return whether a result ranked {@code (score, id)} comes after this position
+     */
+    public boolean isBefore(float score, UUID id) {
+        return score < this.score || (score == this.score && id.compareTo(this.id) > 0);
+    }
+}
@@ -0,0 +1,308 @@
+package meetona.shared.suggest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import meetona.member.MemberRepository;
+import meetona.unit.UnitRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over member and unit names.
+ * <p>
+ * Every word of a name, and the whole name, is a lower-cased key. The keys are sorted and packed
+ * into a single UTF-8 byte array with an offset array, so a prefix lookup is a binary search plus a
+ * forward scan and each key costs its length plus eight bytes. The packed array is immutable; names
+ * added, changed or removed since it was built sit in a small side map that overrides it and is
+ * folded into a new array once it grows past a threshold.
+ * <p>
+ * The index is built from id and name projections once the application is ready and kept current
+ * from the member and unit action messages, which {@link SuggestIndexListener} receives on a queue
+ * of its own on every node.
+ */
+@Slf4j
+@Component
+public class SuggestIndex {
+
+    /**
+     * Rough heap cost of one indexed name besides its key bytes: the {@link Suggestion}, its
+     * {@link UUID} and its label {@link String}, plus the array slots pointing at them.
+     */
+    private static final int ENTRY_BYTES = 104;
+
+    /**
+     * Rough heap cost of a side map entry on top of its {@link Suggestion}.
+     */
+    private static final int CHANGE_BYTES = 64;
+
+    private final int rebuildThreshold;
+    private final MemberRepository memberRepository;
+    private final UnitRepository unitRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile State state = new State(Packed.of(List.of()), new ConcurrentHashMap<>());
+
+    public SuggestIndex(
+            MeterRegistry meterRegistry,
+            MemberRepository memberRepository,
+            UnitRepository unitRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.suggest.rebuild-threshold:10000}") int rebuildThreshold
+    ) {
+        this.memberRepository = memberRepository;
+        this.unitRepository = unitRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildThreshold = rebuildThreshold;
+
+        Gauge.builder("suggest.index.bytes", this, SuggestIndex::estimatedBytes)
+                .description("Estimated heap used by the typeahead index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.keys", this, index -> index.state.packed().size())
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.pending", this, index -> index.state.changes().size())
+                .description("Changes not yet folded into the packed keys")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+
+        List<Suggestion> suggestions = transactionTemplate.execute(status -> {
+            List<Suggestion> all = new ArrayList<>();
+
+            try (Stream<Object[]> members = memberRepository.streamNames()) {
+                members.forEach(row -> all.add(Suggestion.member(
+                        (UUID) row[0], (String) row[1], (String) row[2], (String) row[3])));
+            }
+
+            try (Stream<Object[]> units = unitRepository.streamNames()) {
+                units.forEach(row -> all.add(Suggestion.unit((UUID) row[0], (String) row[1])));
+            }
+            return all;
+        });
+
+        // Changes received while loading stay in the side map, where they override what was read.
+        synchronized (this) {
+            state = new State(Packed.of(suggestions), state.changes());
+        }
+
+        log.info("Built suggestion index => {} names, {} keys, ~{} KiB in {} ms",
+                suggestions.size(), state.packed().size(), estimatedBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param kind only suggest names of this kind, or {@code null} for both
+     * @return up to {@code limit} names with a word, or the whole name, starting with the prefix,
+     * ordered by the matching key
+     */
+    public List<Suggestion> suggest(String prefix, Suggestion.Kind kind, int limit) {
+        String normalized = normalize(prefix);
+
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        State current = state;
+        Map<UUID, Suggestion> changes = current.changes();
+        List<Match> matches = current.packed().find(normalized.getBytes(StandardCharsets.UTF_8), limit,
+                suggestion -> (kind == null || suggestion.kind() == kind) && !changes.containsKey(suggestion.id()));
+
+        for (Suggestion suggestion : changes.values()) {
+            if (suggestion.kind() == null || (kind != null && suggestion.kind() != kind)) {
+                continue;
+            }
+            keys(suggestion.label()).stream()
+                    .filter(key -> key.startsWith(normalized))
+                    .min(Comparator.naturalOrder())
+                    .ifPresent(key -> matches.add(new Match(key, suggestion)));
+        }
+
+        Set<UUID> seen = new HashSet<>();
+        return matches.stream()
+                .sorted(Comparator.comparing(Match::key).thenComparing(match -> match.suggestion().label()))
+                .map(Match::suggestion)
+                .filter(suggestion -> seen.add(suggestion.id()))
+                .limit(limit)
+                .toList();
+    }
+
+    public void put(Suggestion suggestion) {
+        change(suggestion);
+    }
+
+    public void remove(UUID id) {
+        // A change without a kind hides the name until the next fold drops it.
+        change(new Suggestion(id, null, null));
+    }
+
+    public long estimatedBytes() {
+        State current = state;
+        return current.packed().estimatedBytes()
+                + (long) current.changes().size() * (ENTRY_BYTES + CHANGE_BYTES);
+    }
+
+    private synchronized void change(Suggestion suggestion) {
+        state.changes().put(suggestion.id(), suggestion);
+
+        if (state.changes().size() > rebuildThreshold) {
+            fold();
+        }
+    }
+
+    /**
+     * Packs the side map into a new key array. Readers keep using the old state until it is swapped.
+     */
+    private void fold() {
+        State current = state;
+        List<Suggestion> suggestions = new ArrayList<>(current.packed().entries().length + current.changes().size());
+
+        for (Suggestion suggestion : current.packed().entries()) {
+            if (!current.changes().containsKey(suggestion.id())) {
+                suggestions.add(suggestion);
+            }
+        }
+        for (Suggestion suggestion : current.changes().values()) {
+            if (suggestion.kind() != null) {
+                suggestions.add(suggestion);
+            }
+        }
+
+        state = new State(Packed.of(suggestions), new ConcurrentHashMap<>());
+        log.info("Folded suggestion changes => {} names", suggestions.size());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return each word of the label and, for names of several words, the whole label
+     */
+    private static Set<String> keys(String label) {
+        String normalized = normalize(label);
+        Set<String> keys = new LinkedHashSet<>();
+
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+
+        keys.addAll(Arrays.asList(normalized.split(" ")));
+        keys.add(normalized);
+        return keys;
+    }
+
+    private record State(Packed packed, Map<UUID, Suggestion> changes) { }
+
+    private record Match(String key, Suggestion suggestion) { }
+
+    /**
+     * Sorted keys packed end to end in {@code bytes}; key {@code i} spans
+     * {@code offsets[i]..offsets[i + 1]} and names {@code entries[owners[i]]}.
+     */
+    private record Packed(byte[] bytes, int[] offsets, int[] owners, Suggestion[] entries, long labelBytes) {
+
+        static Packed of(List<Suggestion> suggestions) {
+            Suggestion[] entries = suggestions.toArray(Suggestion[]::new);
+            List<Key> keys = new ArrayList<>(entries.length * 3);
+            long labelBytes = 0;
+
+            for (int i = 0; i < entries.length; i++) {
+                labelBytes += entries[i].label().length();
+                for (String key : keys(entries[i].label())) {
+                    keys.add(new Key(key.getBytes(StandardCharsets.UTF_8), i));
+                }
+            }
+            keys.sort((a, b) -> Arrays.compareUnsigned(a.bytes(), b.bytes()));
+
+            int length = keys.stream().mapToInt(key -> key.bytes().length).sum();
+            byte[] bytes = new byte[length];
+            int[] offsets = new int[keys.size() + 1];
+            int[] owners = new int[keys.size()];
+
+            for (int i = 0; i < keys.size(); i++) {
+                Key key = keys.get(i);
+                System.arraycopy(key.bytes(), 0, bytes, offsets[i], key.bytes().length);
+                offsets[i + 1] = offsets[i] + key.bytes().length;
+                owners[i] = key.owner();
+            }
+            return new Packed(bytes, offsets, owners, entries, labelBytes);
+        }
+
+        int size() {
+            return owners.length;
+        }
+
+        long estimatedBytes() {
+            return bytes.length + 4L * (offsets.length + owners.length) + labelBytes
+                    + (long) entries.length * ENTRY_BYTES;
+        }
+
+        /**
+         * @return the first {@code limit} accepted names, in key order, with a key starting with the prefix
+         */
+        List<Match> find(byte[] prefix, int limit, Predicate<Suggestion> filter) {
+            List<Match> matches = new ArrayList<>(limit);
+            Set<Integer> seen = new HashSet<>();
+
+            for (int i = lowerBound(prefix); i < size() && matches.size() < limit && startsWith(i, prefix); i++) {
+                Suggestion suggestion = entries[owners[i]];
+
+                if (filter.test(suggestion) && seen.add(owners[i])) {
+                    String key = new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+                    matches.add(new Match(key, suggestion));
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * @return the index of the first key not below the prefix
+         */
+        private int lowerBound(byte[] prefix) {
+            int low = 0;
+            int high = size();
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (Arrays.compareUnsigned(bytes, offsets[mid], offsets[mid + 1], prefix, 0, prefix.length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private boolean startsWith(int i, byte[] prefix) {
+            return offsets[i + 1] - offsets[i] >= prefix.length
+                    && Arrays.equals(bytes, offsets[i], offsets[i] + prefix.length, prefix, 0, prefix.length);
+        }
+    }
+
+    private record Key(byte[] bytes, int owner) { }
+}
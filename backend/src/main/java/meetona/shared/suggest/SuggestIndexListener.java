@@ -0,0 +1,51 @@
+package meetona.shared.suggest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import meetona.member.MemberDto;
+import meetona.shared.constants.RabbitConstants;
+import meetona.unit.UnitDto;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Applies member and unit action messages to this node's {@link SuggestIndex}.
+ * <p>
+ * Listens on an auto-deleted queue of its own rather than the shared action queues, whose messages
+ * go to one consumer only. Added and updated names arrive as their DTO, removals as the bare id.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestIndexListener {
+
+    private final ObjectMapper objectMapper;
+    private final SuggestIndex suggestIndex;
+
+    @RabbitListener(queues = "#{suggestQueue.name}")
+    public void onMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String routingKey = properties.getReceivedRoutingKey();
+
+        try {
+            if (UUID.class.getName().equals(properties.getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))) {
+                suggestIndex.remove(objectMapper.readValue(message.getBody(), UUID.class));
+            } else if (RabbitConstants.MEMBER_ROUTING_KEY.equals(routingKey)) {
+                MemberDto member = objectMapper.readValue(message.getBody(), MemberDto.class);
+                suggestIndex.put(Suggestion.member(member.id(), member.firstName(), member.middleName(), member.lastName()));
+            } else if (RabbitConstants.UNIT_ROUTING_KEY.equals(routingKey)) {
+                UnitDto unit = objectMapper.readValue(message.getBody(), UnitDto.class);
+                suggestIndex.put(Suggestion.unit(unit.id(), unit.name()));
+            }
+        } catch (IOException ex) {
+            log.warn("Could not apply {} message to the suggestion index", routingKey, ex);
+        }
+    }
+}
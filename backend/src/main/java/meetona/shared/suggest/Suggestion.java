@@ -0,0 +1,44 @@
+package meetona.shared.suggest;
+
+import meetona.shared.exception.BadRequestException;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A typeahead match: a member or unit and the name to show for it.
+ */
+public record Suggestion(
+        UUID id,
+        Kind kind,
+        String label
+) implements Serializable {
+
+    public enum Kind {
+        MEMBER,
+        UNIT;
+
+        public static Kind of(String kind) {
+            try {
+                return valueOf(kind.strip().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported suggestion type: " + kind);
+            }
+        }
+    }
+
+    public static Suggestion member(UUID id, String firstName, String middleName, String lastName) {
+        String label = Stream.of(firstName, middleName, lastName)
+                .filter(name -> name != null && !name.isBlank())
+                .map(String::strip)
+                .collect(Collectors.joining(" "));
+        return new Suggestion(id, Kind.MEMBER, label);
+    }
+
+    public static Suggestion unit(UUID id, String name) {
+        return new Suggestion(id, Kind.UNIT, name.strip());
+    }
+}
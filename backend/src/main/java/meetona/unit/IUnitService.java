@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.UUID;
 
 public interface IUnitService {
-    ApiResponse<List<UnitDto>> getAll(Pageable pageable);
+    ApiResponse<List<UnitDto>> getAll(Pageable pageable, boolean total);
     ApiResponse<UnitDto> getById(UUID id);
     ApiResponse<UnitDto> add(UnitRequest request);
     ApiResponse<UnitDto> update(UUID id, UnitRequest request);
@@ -23,8 +23,11 @@ public class UnitController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<UnitDto>>> getAll(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(unitService.getAll(pageable));
+    public ResponseEntity<ApiResponse<List<UnitDto>>> getAll(
+            @PageableDefault Pageable pageable,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        return ResponseEntity.ok(unitService.getAll(pageable, total));
     }
 
     @GetMapping(value = "{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -1,9 +1,57 @@
 package meetona.unit;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UnitRepository extends JpaRepository<Unit, UUID> {
     Boolean existsByName(String name);
+    Slice<Unit> findAllBy(Pageable pageable);
+
+    @Query("select u.id from unit u")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UUID> streamAllIds();
+
+    @Query("select u.id, u.name from unit u")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamNames();
+
+    /**
+     * Updates the unit in place with a single statement; auditing is set by the caller.
+     *
+     * @return the number of rows updated, 0 if the unit does not exist
+     */
+    @Modifying
+    @Query("""
+            update unit u
+               set u.name = :name,
+                   u.address = :address,
+                   u.updatedBy = :updatedBy,
+                   u.updatedDate = :updatedDate,
+                   u.version = u.version + 1
+             where u.id = :id""")
+    int update(
+            @Param("id") UUID id,
+            @Param("name") String name,
+            @Param("address") String address,
+            @Param("updatedBy") String updatedBy,
+            @Param("updatedDate") Instant updatedDate);
+
+    /**
+     * @return the number of rows deleted, 0 if the unit does not exist
+     */
+    @Modifying
+    @Query("delete from unit u where u.id = :id")
+    int removeById(@Param("id") UUID id);
 }
@@ -2,19 +2,24 @@ package meetona.unit;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import meetona.shared.exception.AppException;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.FilteredId;
+import meetona.shared.cache.IdFilters;
 import meetona.shared.exception.InsertionFailedException;
 import meetona.shared.exception.ResourceNotFoundException;
 import meetona.shared.response.ApiResponse;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -24,30 +29,34 @@ import java.util.UUID;
 public class UnitService implements IUnitService {
 
     private final UnitMapper mapper;
+    private final IdFilters idFilters;
     private final UnitRepository unitRepository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
     private final UnitActionProducer unitActionProducer;
+    private final AuditorAware<String> auditorAware;
 
     @Override
-    @Cacheable("units")
-    public ApiResponse<List<UnitDto>> getAll(Pageable pageable) {
-        Page<Unit> units = unitRepository.findAll(pageable);
+    @Cacheable(
+            value = "units",
+            key = "@cacheGenerations.current('units') + ':' + #pageable + ':' + #total",
+            sync = true)
+    public ApiResponse<List<UnitDto>> getAll(Pageable pageable, boolean total) {
+        Slice<UnitDto> unitDto = unitRepository.findAllBy(pageable).map(mapper::toDto);
 
-        List<UnitDto> unitDto = units.stream()
-                .map(mapper::toDto)
-                .toList();
+        ApiResponse<List<UnitDto>> response = ApiResponse.of(unitDto, total ? entityCounter.total("units") : null);
 
-        ApiResponse<List<UnitDto>> response = new ApiResponse<>(unitDto, true);
-
-        log.info("Fetched units => {}", unitDto);
+        log.info("Fetched units => {}", unitDto.getContent());
         return response;
     }
 
     @Override
-    @Cacheable("unit")
+    @FilteredId(value = "unit", resource = "Unit")
+    @Cacheable(value = "unit", sync = true)
     public ApiResponse<UnitDto> getById(UUID id) {
-        Optional<Unit> unitOptional = unitRepository.findById(id);
-
-        Unit unit = unitOptional.orElse(null); // Unwrap the Optional to get a Unit or null
+        Unit unit = unitRepository
+                .findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id));
 
         UnitDto unitDto = mapper.toDto(unit);
 
@@ -68,6 +77,9 @@ public class UnitService implements IUnitService {
 
         Unit newUnit = buildUnit(request);
         unitRepository.save(newUnit);
+        cacheGenerations.bump("units");
+        entityCounter.add("units", 1);
+        idFilters.add("unit", newUnit.getId());
 
         UnitDto unitDto = mapper.toDto(newUnit);
         var response = new ApiResponse<>(unitDto, true);
@@ -76,20 +88,31 @@ public class UnitService implements IUnitService {
         return response;
     }
 
+    /**
+     * Also clears the {@code member} cache, whose entries carry the unit's name.
+     */
     @Override
     @Transactional
-    @CacheEvict(value = "unit", key = "#unit.id")
+    @Caching(evict = {
+            @CacheEvict(value = "unit", key = "#id"),
+            @CacheEvict(value = "member", allEntries = true)
+    })
     public ApiResponse<UnitDto> update(UUID id, UnitRequest request) {
-        boolean isUnitExists = unitRepository.existsById(id);
-
-        if(!isUnitExists) {
-            throw new ResourceNotFoundException("User", "id", id);
+        int updated = unitRepository.update(
+                id,
+                request.name(),
+                request.address(),
+                auditorAware.getCurrentAuditor().orElse(null),
+                Instant.now());
+
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Unit", "id", id);
         }
 
-        Unit newUnit = buildUnit(request);
-
-        unitRepository.save(newUnit);
-        UnitDto updatedUnit = mapper.toDto(newUnit);
+        cacheGenerations.bump("units");
+        cacheGenerations.bump("members");
+        cacheGenerations.bump("celebrants");
+        UnitDto updatedUnit = new UnitDto(id, request.name(), request.address());
 
         var response = new ApiResponse<>(updatedUnit, true);
 
@@ -101,13 +124,13 @@ public class UnitService implements IUnitService {
     @Transactional
     @CacheEvict(value = "unit", key = "#id")
     public ApiResponse<UnitDto> delete(UUID id) {
-        boolean isUnitExists = unitRepository.existsById(id);
-
-        if(!isUnitExists){
-            throw new ResourceNotFoundException("User", "id", id);
+        if (unitRepository.removeById(id) == 0) {
+            throw new ResourceNotFoundException("Unit", "id", id);
         }
 
-        unitRepository.deleteById(id);
+        cacheGenerations.bump("units");
+        entityCounter.add("units", -1);
+        cacheGenerations.bump("members");
         UnitDto deletedUnitDto = new UnitDto(id, null, null);
 
         var response = new ApiResponse<>(deletedUnitDto, true);
@@ -1,7 +1,10 @@
 package meetona.user;
 
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
 import meetona.user.dtos.AuthDto;
+import meetona.user.dtos.TokenRefreshDto;
+import meetona.user.dtos.TokenRefreshResponse;
 import meetona.user.dtos.UserDto;
 import meetona.user.dtos.UserRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,7 +14,10 @@ import java.util.UUID;
 
 public interface IUserService {
     ApiResponse<UserDto> authenticate(AuthDto authDto);
-    ApiResponse<List<UserDto>> getAll(Pageable pageable);
+    ApiResponse<TokenRefreshResponse> refresh(TokenRefreshDto tokenRefreshDto);
+    ApiResponse<String> logout(TokenRefreshDto tokenRefreshDto);
+    ApiResponse<List<UserDto>> getAll(Pageable pageable, boolean total);
+    ApiResponse<PagedResponse<UserDto>> getAll(String cursor, int size);
     ApiResponse<UserDto> getById(UUID id);
     ApiResponse<UserDto> add(UserRequest request);
     ApiResponse<UserDto> update(UUID id, UserRequest request);
@@ -2,7 +2,10 @@ package meetona.user;
 
 import jakarta.validation.Valid;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
 import meetona.user.dtos.AuthDto;
+import meetona.user.dtos.TokenRefreshDto;
+import meetona.user.dtos.TokenRefreshResponse;
 import meetona.user.dtos.UserDto;
 import meetona.user.dtos.UserRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,9 +34,40 @@ public class UserController {
         return ResponseEntity.ok(userService.authenticate(authDto));
     }
 
+    /**
+     * Exchanges a refresh token from {@code /auth} or an earlier refresh for a new access token and
+     * the next refresh token, without checking the password again.
+     */
+    @PostMapping(value = "/auth/refresh",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<TokenRefreshResponse>> refresh(@Valid @RequestBody TokenRefreshDto tokenRefreshDto) {
+        return ResponseEntity.ok(userService.refresh(tokenRefreshDto));
+    }
+
+    /**
+     * Revokes the access token of the request and, when one is given, the refresh token of the same
+     * login, on every node.
+     */
+    @PostMapping(value = "/auth/logout", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<String>> logout(@Valid @RequestBody(required = false) TokenRefreshDto tokenRefreshDto) {
+        return ResponseEntity.ok(userService.logout(tokenRefreshDto));
+    }
+
     @GetMapping(value = "/user", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<UserDto>>> getAll(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(userService.getAll(pageable));
+    public ResponseEntity<ApiResponse<List<UserDto>>> getAll(
+            @PageableDefault Pageable pageable,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        return ResponseEntity.ok(userService.getAll(pageable, total));
+    }
+
+    @GetMapping(value = "/user/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PagedResponse<UserDto>>> getAll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(userService.getAll(cursor, size));
     }
 
     @GetMapping(value = "/user/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -3,6 +3,7 @@ package meetona.user;
 import meetona.role.Role;
 import meetona.user.dtos.UserDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
@@ -18,6 +19,7 @@ public interface UserMapper {
 
     UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
 
+    @Mapping(target = "memberId", source = "member.id")
     UserDto toDto(User user);
 
     default List<String> mapRoles(Collection<Role> roles) {
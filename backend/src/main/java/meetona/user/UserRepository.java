@@ -1,14 +1,102 @@
 package meetona.user;
 
 import meetona.role.Role;
+import meetona.user.dtos.UserDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    /**
+     * {@link UserDto} built in the select clause without roles, which are a collection and
+     * are loaded for the whole page with {@link #findRoleNames}.
+     */
+    String DTO = "new meetona.user.dtos.UserDto(u.id, u.username, u.email, mb.id)";
+
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByRoles(Role role);
+
+    @Query("select " + DTO + " from user u left join u.member mb")
+    Slice<UserDto> findAllDtos(Pageable pageable);
+
+    @Query("select " + DTO + " from user u left join u.member mb where u.id = :id")
+    Optional<UserDto> findDtoById(@Param("id") UUID id);
+
+    @Query("select u.createdDate, u.id, " + DTO + " from user u left join u.member mb order by u.createdDate, u.id")
+    List<Object[]> findKeysetFirst(Pageable pageable);
+
+    @Query("select u.createdDate, u.id, " + DTO + """
+             from user u left join u.member mb
+            where u.createdDate >= :createdDate
+              and (u.createdDate > :createdDate or u.id > :id)
+            order by u.createdDate, u.id""")
+    List<Object[]> findKeysetAfter(
+            @Param("createdDate") Instant createdDate,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * @return {@code (user id, role name)} pairs for the given users
+     */
+    @Query("select u.id, r.name from user u join u.roles r where u.id in :ids")
+    List<Object[]> findRoleNames(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Updates the user's own columns in place with a single statement; roles are replaced with
+     * {@link #replaceRoles} and auditing is set by the caller.
+     *
+     * @return the number of rows updated, 0 if the user does not exist
+     */
+    @Modifying
+    @Query("""
+            update user u
+               set u.username = :username,
+                   u.email = :email,
+                   u.password = :password,
+                   u.updatedBy = :updatedBy,
+                   u.updatedDate = :updatedDate,
+                   u.version = u.version + 1
+             where u.id = :id""")
+    int update(
+            @Param("id") UUID id,
+            @Param("username") String username,
+            @Param("email") String email,
+            @Param("password") String password,
+            @Param("updatedBy") String updatedBy,
+            @Param("updatedDate") Instant updatedDate);
+
+    /**
+     * Replaces the user's roles by name in one statement.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH removed AS (
+                DELETE FROM users_roles WHERE user_id = :userId)
+            INSERT INTO users_roles (user_id, role_id)
+            SELECT :userId, r.id FROM roles r WHERE r.name IN (:roles)""")
+    int replaceRoles(@Param("userId") UUID userId, @Param("roles") Collection<String> roles);
+
+    /**
+     * Deletes the user and its role assignments in one statement.
+     *
+     * @return the number of users deleted, 0 if the user does not exist
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH removed AS (
+                DELETE FROM users_roles WHERE user_id = :id)
+            DELETE FROM users WHERE id = :id""")
+    int removeById(@Param("id") UUID id);
 }
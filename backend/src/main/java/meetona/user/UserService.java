@@ -3,31 +3,49 @@ package meetona.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import meetona.member.MemberRepository;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
 import meetona.shared.exception.ResourceNotFoundException;
+import meetona.user.security.JwtAuthentication;
+import meetona.user.security.RefreshTokens;
 import meetona.user.security.TokenProvider;
+import meetona.user.security.TokenRevocations;
 import meetona.shared.enums.AppRole;
 import meetona.role.Role;
 import meetona.role.RoleRepository;
 import meetona.shared.exception.AppException;
 import meetona.shared.exception.LoginException;
+import meetona.shared.exception.LogoutException;
 import meetona.shared.exception.InsertionFailedException;
 import meetona.shared.response.ApiResponse;
+import meetona.shared.response.Cursor;
+import meetona.shared.response.PagedResponse;
 import meetona.user.dtos.AuthDto;
+import meetona.user.dtos.TokenRefreshDto;
+import meetona.user.dtos.TokenRefreshResponse;
 import meetona.user.dtos.UserDto;
 import meetona.user.dtos.UserRequest;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -41,7 +59,12 @@ public class UserService implements IUserService {
 
     private final UserMapper mapper;
     private final TokenProvider tokenProvider;
+    private final RefreshTokens refreshTokens;
+    private final TokenRevocations tokenRevocations;
     private final UserRepository userRepository;
+    private final CacheGenerations cacheGenerations;
+    private final EntityCounter entityCounter;
+    private final AuditorAware<String> auditorAware;
     private final RoleRepository roleRepository;
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
@@ -63,35 +86,94 @@ public class UserService implements IUserService {
         if (user == null) throw new LoginException("User not found");
 
         UserDto userDto = mapper.toDto(user).setAccessToken(accessToken);
-        var response = new ApiResponse<>(userDto, true);
+        String refreshToken = refreshTokens.issue(
+                user.getId(), authentication.getName(), TokenProvider.rolesClaim(authentication.getAuthorities()));
+        var response = new ApiResponse<>(userDto.setRefreshToken(refreshToken), true);
 
         userActionProducer.sendMessage(userDto);
         return response;
     }
 
+    /**
+     * Costs one Redis call and one token signature; neither the database nor the password encoder is used.
+     */
     @Override
-    @Cacheable("users")
-    public ApiResponse<List<UserDto>> getAll(Pageable pageable) {
-        Page<User> users = userRepository.findAll(pageable);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<TokenRefreshResponse> refresh(TokenRefreshDto tokenRefreshDto) {
+        RefreshTokens.Rotation rotation = refreshTokens.rotate(tokenRefreshDto.refreshToken());
+        String accessToken = tokenProvider.createToken(rotation.username(), rotation.roles());
 
-        List<UserDto> userDto = users.stream()
-                .map(mapper::toDto)
-                .toList();
+        return new ApiResponse<>(new TokenRefreshResponse(accessToken, rotation.refreshToken()), true);
+    }
+
+    /**
+     * Only Redis and the bus are used; the token stays refused until it would have expired anyway.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ApiResponse<String> logout(TokenRefreshDto tokenRefreshDto) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (!(authentication instanceof JwtAuthentication jwt) || jwt.getTokenId() == null) {
+            throw new LogoutException(
+                    authentication != null ? authentication.getName() : "-",
+                    "token has no id, it stays valid until it expires");
+        }
+
+        tokenRevocations.revoke(jwt.getTokenId(), jwt.getExpiresAt());
+        if (tokenRefreshDto != null) {
+            refreshTokens.revoke(tokenRefreshDto.refreshToken());
+        }
+
+        log.info("Logged out => {}", jwt.getName());
+        return new ApiResponse<>("Logged out", true);
+    }
 
-        ApiResponse<List<UserDto>> response = new ApiResponse<>(userDto, true);
+    @Override
+    @Cacheable(
+            value = "users",
+            key = "@cacheGenerations.current('users') + ':' + #pageable + ':' + #total",
+            sync = true)
+    public ApiResponse<List<UserDto>> getAll(Pageable pageable, boolean total) {
+        Slice<UserDto> users = userRepository.findAllDtos(pageable);
+        List<UserDto> userDto = withRoles(users.getContent());
+
+        ApiResponse<List<UserDto>> response = ApiResponse.of(
+                new SliceImpl<>(userDto, pageable, users.hasNext()),
+                total ? entityCounter.total("users") : null);
 
         log.info("Fetched units => {}", userDto);
         return response;
     }
 
     @Override
-    @Cacheable("user")
-    public ApiResponse<UserDto> getById(UUID id) {
-        Optional<User> userOptional = userRepository.findById(id);
-
-        User user = userOptional.orElse(null); // Unwrap the Optional to get a Unit or null
+    @Cacheable(
+            value = "users",
+            key = "@cacheGenerations.current('users') + ':' + #cursor + ':' + #size",
+            sync = true)
+    public ApiResponse<PagedResponse<UserDto>> getAll(String cursor, int size) {
+        int limit = PagedResponse.limit(size);
+        var pageable = PageRequest.ofSize(limit + 1);
+
+        List<Object[]> rows = cursor == null
+                ? userRepository.findKeysetFirst(pageable)
+                : findKeysetAfter(Cursor.decode(cursor), pageable);
+
+        PagedResponse<UserDto> page = PagedResponse.of(rows, limit);
+        page.setContent(withRoles(page.getContent()));
+        var response = new ApiResponse<>(page, true);
+
+        log.info("Fetched users => {}", page.getContent());
+        return response;
+    }
 
-        UserDto userDto = mapper.toDto(user);
+    @Override
+    @Cacheable(value = "user", sync = true)
+    public ApiResponse<UserDto> getById(UUID id) {
+        UserDto userDto = userRepository
+                .findDtoById(id)
+                .map(user -> withRoles(List.of(user)).get(0))
+                .orElse(null);
 
         var response = new ApiResponse<>(userDto, true);
 
@@ -110,6 +192,8 @@ public class UserService implements IUserService {
 
         User newUser = buildUser(userRequest);
         userRepository.save(newUser);
+        cacheGenerations.bump("users");
+        entityCounter.add("users", 1);
 
         UserDto userDto = mapper.toDto(newUser);
 
@@ -121,18 +205,28 @@ public class UserService implements IUserService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "user", key = "#user.id")
+    @CacheEvict(value = "user", key = "#id")
     public ApiResponse<UserDto> update(UUID id, UserRequest request) {
-        boolean isUserExists = userRepository.existsById(id);
+        List<String> roles = request.roles().stream()
+                .map(role -> AppRole.valueOf(role).name())
+                .toList();
+
+        int updated = userRepository.update(
+                id,
+                request.username(),
+                request.email(),
+                passwordEncoder.encode(request.password()),
+                auditorAware.getCurrentAuditor().orElse(null),
+                Instant.now());
 
-        if(!isUserExists) {
+        if (updated == 0) {
             throw new ResourceNotFoundException("User", "id", id);
         }
 
-        User newUser = buildUser(request);
-
-        userRepository.save(newUser);
-        UserDto updatedUser = mapper.toDto(newUser);
+        userRepository.replaceRoles(id, roles);
+        refreshTokens.revokeAll(id);
+        cacheGenerations.bump("users");
+        var updatedUser = new UserDto(id, request.username(), request.email(), roles, request.memberId(), null, null);
 
         var response = new ApiResponse<>(updatedUser, true);
 
@@ -144,14 +238,14 @@ public class UserService implements IUserService {
     @Transactional
     @CacheEvict(value = "user", key = "#id")
     public ApiResponse<UserDto> delete(UUID id) {
-        boolean isUserExists = userRepository.existsById(id);
-
-        if(!isUserExists){
+        if (userRepository.removeById(id) == 0) {
             throw new ResourceNotFoundException("User", "id", id);
         }
 
-        userRepository.deleteById(id);
-        UserDto deletedUser = new UserDto(id, null, null, null, null, null);
+        refreshTokens.revokeAll(id);
+        cacheGenerations.bump("users");
+        entityCounter.add("users", -1);
+        UserDto deletedUser = new UserDto(id, null, null, null, null, null, null);
 
         var response = new ApiResponse<>(deletedUser, true);
 
@@ -160,9 +254,7 @@ public class UserService implements IUserService {
     }
 
     private User buildUser(UserRequest request) {
-        var member = memberRepository
-                .findById(request.memberId())
-                .orElseThrow(() -> new IllegalArgumentException(request.memberId() + " does not exist"));
+        var member = memberRepository.getReferenceById(request.memberId());
 
         Set<Role> roles = request.roles().stream()
                 .map(role -> roleRepository.findByName(AppRole.valueOf(role)))
@@ -177,4 +269,31 @@ public class UserService implements IUserService {
                 .password(passwordEncoder.encode(request.password()))
                 .build();
     }
+
+    private List<Object[]> findKeysetAfter(Cursor cursor, Pageable pageable) {
+        return userRepository.findKeysetAfter(cursor.createdDate(), cursor.id(), pageable);
+    }
+
+    /**
+     * Fills in the roles of a page of projected users with one query for the whole page.
+     */
+    private List<UserDto> withRoles(List<UserDto> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+
+        List<UUID> ids = users.stream()
+                .map(UserDto::id)
+                .toList();
+
+        Map<UUID, List<String>> roles = new HashMap<>();
+
+        for (Object[] row : userRepository.findRoleNames(ids)) {
+            roles.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add(((AppRole) row[1]).name());
+        }
+
+        return users.stream()
+                .map(user -> user.withRoles(roles.getOrDefault(user.id(), List.of())))
+                .toList();
+    }
 }
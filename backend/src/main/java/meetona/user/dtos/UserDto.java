@@ -10,9 +10,26 @@ public record UserDto(
         String email,
         List<String> roles,
         UUID memberId,
-        String accessToken
+        String accessToken,
+        String refreshToken
 ) implements Serializable {
+
+    /**
+     * Used by the repository projections; roles are loaded separately.
+     */
+    public UserDto(UUID id, String username, String email, UUID memberId) {
+        this(id, username, email, null, memberId, null, null);
+    }
+
     public UserDto setAccessToken(String accessToken) {
-        return new UserDto(id, username, email, roles, memberId, accessToken);
+        return new UserDto(id, username, email, roles, memberId, accessToken, refreshToken);
+    }
+
+    public UserDto setRefreshToken(String refreshToken) {
+        return new UserDto(id, username, email, roles, memberId, accessToken, refreshToken);
+    }
+
+    public UserDto withRoles(List<String> roles) {
+        return new UserDto(id, username, email, roles, memberId, accessToken, refreshToken);
     }
 }
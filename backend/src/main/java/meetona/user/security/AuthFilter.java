@@ -7,7 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,9 +22,11 @@ import java.io.IOException;
 public class AuthFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
+    private final TokenRevocations tokenRevocations;
 
-    public AuthFilter(TokenProvider tokenProvider) {
+    public AuthFilter(TokenProvider tokenProvider, TokenRevocations tokenRevocations) {
         this.tokenProvider = tokenProvider;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
@@ -35,22 +36,29 @@ public class AuthFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException
     {
-        String token = parseToken(request);
+        Authentication auth = request.getAttribute(TokenProvider.AUTHENTICATION_ATTRIBUTE) instanceof Authentication found
+                ? found
+                : authenticate(bearerToken(request));
 
-        if (token != null && tokenProvider.validateToken(token)) {
-            Authentication auth = tokenProvider.getAuthentication(token);
+        // Checked on every request, since a cached authentication may belong to a token revoked since.
+        if (auth instanceof JwtAuthentication jwt && tokenRevocations.isRevoked(jwt.getTokenId())) {
+            auth = null;
+        }
 
-            if (auth != null && !(auth instanceof AnonymousAuthenticationToken)) {
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                context.setAuthentication(auth);
-                SecurityContextHolder.setContext(context);
-            }
+        if (auth != null) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(auth);
+            SecurityContextHolder.setContext(context);
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String parseToken(HttpServletRequest request) {
+    private Authentication authenticate(String token) {
+        return token != null ? tokenProvider.authenticate(token) : null;
+    }
+
+    static String bearerToken(HttpServletRequest request) {
         String headerAuth = request.getHeader(HttpHeaders.AUTHORIZATION);
 
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
@@ -0,0 +1,127 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import meetona.shared.exception.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a slow password encoder on a fixed number of threads with a bounded queue.
+ * <p>
+ * Request threads, virtual or not, hand the hash over and wait for it, so however many logins
+ * arrive at once, hashing never takes more than its threads' share of the CPU. When the queue is
+ * full the caller is refused straight away with a {@link TooManyRequestsException}, whose retry delay
+ * is how long the queue takes to drain at the current mean hash time.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final int threads;
+    private final int queueCapacity;
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time a hash waits in the queue before a thread picks it up")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("password.hashing.rejected");
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer hashTimer, Callable<T> hash) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-ins at once, try again shortly", retryAfterSeconds());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a password hash", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * @return the seconds a full queue takes to drain, at least one
+     */
+    private long retryAfterSeconds() {
+        double meanMillis = Math.max(
+                matchesTimer.mean(TimeUnit.MILLISECONDS),
+                encodeTimer.mean(TimeUnit.MILLISECONDS));
+        return Math.max(1, (long) Math.ceil(queueCapacity * meanMillis / threads / 1000));
+    }
+}
@@ -0,0 +1,83 @@
+package meetona.user.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The authentication carried by a verified access token.
+ * <p>
+ * Immutable, so one instance can be cached and shared by every request presenting the same token.
+ * It holds no credentials; the token itself is not kept.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private final User principal;
+    private final List<GrantedAuthority> authorities;
+    private final UUID tokenId;
+    private final long expiresAt;
+
+    /**
+     * @param tokenId   the token's {@code jti}, or {@code null} if it has none
+     * @param expiresAt the token's expiry in epoch milliseconds
+     */
+    public JwtAuthentication(String username, List<GrantedAuthority> authorities, UUID tokenId, long expiresAt) {
+        this.principal = new User(username, "", authorities);
+        this.authorities = List.copyOf(authorities);
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public User getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (!authenticated) {
+            throw new IllegalArgumentException("A verified token cannot be marked unauthenticated");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[" + getName() + ", " + authorities + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package meetona.user.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits each node on its own, without locks.
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the time at which it will be full again (the
+ * generic cell rate algorithm): a request is allowed while that time is less than a full bucket's
+ * worth of tokens ahead of now, and takes its token by moving the time one interval on with a
+ * compare-and-set. Buckets live in a concurrent map per route group and are dropped once full, since
+ * a missing bucket is a full one.
+ */
+@Component
+@ConditionalOnProperty(value = "app.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final RateLimitProperty rateLimitProperty;
+    private final Map<RateLimitProperty.RouteGroup, Map<String, AtomicLong>> buckets =
+            new EnumMap<>(RateLimitProperty.RouteGroup.class);
+
+    public LocalRateLimiter(RateLimitProperty rateLimitProperty) {
+        this.rateLimitProperty = rateLimitProperty;
+        for (RateLimitProperty.RouteGroup group : RateLimitProperty.RouteGroup.values()) {
+            buckets.put(group, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public long tryAcquire(RateLimitProperty.RouteGroup group, String client) {
+        RateLimitProperty.Limit limit = rateLimitProperty.limit(group);
+        long interval = limit.intervalNanos();
+        long burst = interval * limit.getCapacity();
+        long now = System.nanoTime();
+        AtomicLong bucket = bucket(buckets.get(group), client, now);
+
+        while (true) {
+            long full = bucket.get();
+            long next = (full - now > 0 ? full : now) + interval;
+            long wait = next - burst - now;
+
+            if (wait > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:60000}")
+    public void evictFull() {
+        long now = System.nanoTime();
+        buckets.values().forEach(clients -> clients.values().removeIf(bucket -> bucket.get() - now <= 0));
+    }
+
+    private static AtomicLong bucket(Map<String, AtomicLong> clients, String client, long now) {
+        AtomicLong bucket = clients.get(client);
+
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now);
+            bucket = clients.putIfAbsent(client, created);
+            return bucket != null ? bucket : created;
+        }
+        return bucket;
+    }
+}
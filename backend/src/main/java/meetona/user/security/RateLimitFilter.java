@@ -0,0 +1,155 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import meetona.shared.response.ApiResponse;
+import meetona.shared.util.JsonUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limits how often each client may call each route group of {@link SecurityConfig}, ahead of
+ * {@link AuthFilter} so that refused requests cost no signature check.
+ * <p>
+ * A client is the user of the bearer token when that token was verified before, and its address
+ * otherwise; the token is only looked up in {@link TokenProvider}'s cache here and the result is
+ * handed on to {@link AuthFilter}. Behind a proxy the address is only the client's when
+ * {@code server.forward-headers-strategy} is set. Refused requests get a 429 with a
+ * {@code Retry-After} header.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REFUSED = JsonUtils.toJson(new ApiResponse<>("Too many requests, try again shortly", false));
+
+    private final RateLimiter rateLimiter;
+    private final TokenProvider tokenProvider;
+    private final RateLimitProperty rateLimitProperty;
+    private final RouteMatcher whitelist = new RouteMatcher(SecurityConfig.WHITELIST);
+    private final RouteMatcher admin = new RouteMatcher(SecurityConfig.ADMIN);
+    private final Map<RateLimitProperty.RouteGroup, Counter> refused = new EnumMap<>(RateLimitProperty.RouteGroup.class);
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            TokenProvider tokenProvider,
+            RateLimitProperty rateLimitProperty,
+            MeterRegistry meterRegistry
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.tokenProvider = tokenProvider;
+        this.rateLimitProperty = rateLimitProperty;
+        for (RateLimitProperty.RouteGroup group : RateLimitProperty.RouteGroup.values()) {
+            refused.put(group, meterRegistry.counter("rate.limit.refused", "group", group.name().toLowerCase()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimitProperty.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException
+    {
+        RateLimitProperty.RouteGroup group = group(request.getServletPath());
+        long waitMillis = rateLimiter.tryAcquire(group, client(request));
+
+        if (waitMillis > 0) {
+            refused.get(group).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REFUSED);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperty.RouteGroup group(String path) {
+        if (whitelist.matches(path)) {
+            return RateLimitProperty.RouteGroup.WHITELIST;
+        }
+        if (admin.matches(path)) {
+            return RateLimitProperty.RouteGroup.ADMIN;
+        }
+        return RateLimitProperty.RouteGroup.OTHER;
+    }
+
+    private String client(HttpServletRequest request) {
+        String token = AuthFilter.bearerToken(request);
+        Authentication authentication = token != null ? tokenProvider.cached(token) : null;
+
+        if (authentication != null) {
+            request.setAttribute(TokenProvider.AUTHENTICATION_ATTRIBUTE, authentication);
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Matches paths against the security patterns: exact paths and {@code /**} suffixes by string
+     * comparison, anything else with an {@link AntPathMatcher}.
+     */
+    private static final class RouteMatcher {
+
+        private static final AntPathMatcher ANT = new AntPathMatcher();
+
+        private final String[] exact;
+        private final String[] prefixes;
+        private final String[] patterns;
+
+        RouteMatcher(String[] routes) {
+            this.exact = Arrays.stream(routes)
+                    .filter(route -> !ANT.isPattern(route))
+                    .toArray(String[]::new);
+            this.prefixes = Arrays.stream(routes)
+                    .filter(route -> route.endsWith("/**") && !ANT.isPattern(route.substring(0, route.length() - 3)))
+                    .map(route -> route.substring(0, route.length() - 3))
+                    .toArray(String[]::new);
+            this.patterns = Arrays.stream(routes)
+                    .filter(ANT::isPattern)
+                    .filter(route -> !route.endsWith("/**") || ANT.isPattern(route.substring(0, route.length() - 3)))
+                    .toArray(String[]::new);
+        }
+
+        boolean matches(String path) {
+            for (String route : exact) {
+                if (route.equals(path)) {
+                    return true;
+                }
+            }
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix)
+                        && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                    return true;
+                }
+            }
+            for (String pattern : patterns) {
+                if (ANT.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package meetona.user.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request limits per route group of {@link SecurityConfig}: {@code whitelist} for the public routes,
+ * {@code admin} for the admin routes and {@code other} for everything else. Each client may make
+ * {@code capacity} requests at once and then {@code refillPerSecond} a second. {@code app.rate-limit.mode}
+ * picks the {@code local} limiter or the {@code redis} one shared by all nodes.
+ */
+@Data
+@Configuration
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperty {
+    private boolean enabled = true;
+    private Limit whitelist = new Limit(20, 5);
+    private Limit admin = new Limit(200, 50);
+    private Limit other = new Limit(100, 20);
+
+    public Limit limit(RouteGroup group) {
+        return switch (group) {
+            case WHITELIST -> whitelist;
+            case ADMIN -> admin;
+            case OTHER -> other;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+
+        /**
+         * @return the time one request's token takes to come back
+         */
+        public long intervalNanos() {
+            return (long) (1_000_000_000L / refillPerSecond);
+        }
+    }
+
+    public enum RouteGroup {
+        WHITELIST,
+        ADMIN,
+        OTHER
+    }
+}
@@ -0,0 +1,14 @@
+package meetona.user.security;
+
+/**
+ * Token buckets per route group and client, see {@link RateLimitFilter}.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes a token from the client's bucket for the group.
+     *
+     * @return 0 if a token was taken, otherwise the milliseconds until one is available
+     */
+    long tryAcquire(RateLimitProperty.RouteGroup group, String client);
+}
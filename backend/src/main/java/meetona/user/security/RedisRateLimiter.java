@@ -0,0 +1,79 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits across all nodes with the same algorithm as {@link LocalRateLimiter}, run as a script
+ * inside Redis on Redis' own clock. Each request costs a Redis round trip. If Redis cannot be
+ * reached, requests are let through.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.rate-limit.mode", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "meetona:rate-limit:";
+
+    /**
+     * Returns 0 after taking a token, otherwise the microseconds until one is available.
+     */
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local burst = interval * tonumber(ARGV[2])
+            local full = tonumber(redis.call('GET', KEYS[1]) or now)
+            if full < now then
+                full = now
+            end
+            local next = full + interval
+            local wait = next - burst - now
+            if wait > 0 then
+                return wait
+            end
+            redis.call('SET', KEYS[1], next, 'PX', math.ceil((next - now) / 1000))
+            return 0""", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperty rateLimitProperty;
+    private final Counter errors;
+
+    public RedisRateLimiter(
+            StringRedisTemplate redisTemplate,
+            RateLimitProperty rateLimitProperty,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.rateLimitProperty = rateLimitProperty;
+        this.errors = meterRegistry.counter("rate.limit.errors");
+    }
+
+    @Override
+    public long tryAcquire(RateLimitProperty.RouteGroup group, String client) {
+        RateLimitProperty.Limit limit = rateLimitProperty.limit(group);
+
+        try {
+            Long wait = redisTemplate.execute(
+                    ACQUIRE,
+                    List.of(KEY_PREFIX + group.name().toLowerCase() + ":" + client),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(limit.intervalNanos())),
+                    String.valueOf(limit.getCapacity()));
+
+            return wait == null || wait <= 0 ? 0 : Math.max(1, TimeUnit.MICROSECONDS.toMillis(wait));
+        } catch (RuntimeException ex) {
+            errors.increment();
+            log.debug("Could not check rate limit in Redis, letting the request through", ex);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.exception.TokenRefreshException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens kept in Redis.
+ * <p>
+ * A login starts a family; its token is {@code <family>.<secret>} and only the SHA-256 hash of the
+ * current token is stored, in one hash per family together with the username and roles. Each refresh
+ * atomically swaps the current hash for the next token's, so a refresh costs one Redis call and one
+ * access token signature. The next token is an HMAC of the presented one, so a client refreshing
+ * twice at once with the same token, e.g. from two tabs, gets the same successor as long as it does
+ * so within {@code app.jwt.refresh-grace} of the rotation. Presenting any other token of the family
+ * that is no longer current means it was copied: the whole family is revoked and its holder has to
+ * log in again. A family lives for {@code app.jwt.refresh-expiration} from the login, however often
+ * it is refreshed.
+ */
+@Slf4j
+@Component
+public class RefreshTokens {
+
+    private static final String FAMILY_PREFIX = "meetona:refresh:family:";
+    private static final String USER_PREFIX = "meetona:refresh:user:";
+
+    /**
+     * Stores the family and adds it to the user's families, both expiring with the family.
+     */
+    private static final RedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'user', ARGV[1], 'roles', ARGV[2], 'current', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('SADD', KEYS[2], ARGV[5])
+            return redis.call('PEXPIRE', KEYS[2], ARGV[4])""", Long.class);
+
+    /**
+     * Returns {@code {1, user, roles}} after rotating, {@code {2, user, roles}} when the previous token
+     * is presented again within the grace window and its successor is still current, {@code {0}} for
+     * an unknown or expired family and {@code {-1}} after revoking a family whose stale token was
+     * presented.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'current')
+            if not current then
+                return {0}
+            end
+            if current ~= ARGV[1] then
+                local previous = redis.call('HMGET', KEYS[1], 'previous', 'rotated')
+                if previous[1] == ARGV[1] and current == ARGV[2]
+                        and tonumber(ARGV[3]) - tonumber(previous[2]) <= tonumber(ARGV[4]) then
+                    return {2, redis.call('HGET', KEYS[1], 'user'), redis.call('HGET', KEYS[1], 'roles')}
+                end
+                redis.call('DEL', KEYS[1])
+                return {-1}
+            end
+            redis.call('HSET', KEYS[1], 'current', ARGV[2], 'previous', ARGV[1], 'rotated', ARGV[3])
+            return {1, redis.call('HGET', KEYS[1], 'user'), redis.call('HGET', KEYS[1], 'roles')}""", List.class);
+
+    private final SecureRandom random = new SecureRandom();
+    private final StringRedisTemplate redisTemplate;
+    private final SecretKeySpec successorKey;
+    private final Duration lifetime;
+    private final long grace;
+    private final Counter issued;
+    private final Counter rotated;
+    private final Counter replayed;
+    private final Counter rejected;
+    private final Counter reused;
+
+    public RefreshTokens(
+            StringRedisTemplate redisTemplate,
+            JwtProperty jwtProperty,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.refresh-grace:10000}") long grace
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.successorKey = new SecretKeySpec(jwtProperty.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.lifetime = Duration.ofMillis(jwtProperty.getRefreshExpiration());
+        this.grace = grace;
+        this.issued = meterRegistry.counter("auth.refresh.tokens", "outcome", "issued");
+        this.rotated = meterRegistry.counter("auth.refresh.tokens", "outcome", "rotated");
+        this.replayed = meterRegistry.counter("auth.refresh.tokens", "outcome", "replayed");
+        this.rejected = meterRegistry.counter("auth.refresh.tokens", "outcome", "rejected");
+        this.reused = meterRegistry.counter("auth.refresh.tokens", "outcome", "reused");
+    }
+
+    /**
+     * Starts a family for a login.
+     *
+     * @param roles the {@code roles} claim of the access tokens it will be exchanged for
+     * @return the first refresh token of the family
+     */
+    public String issue(UUID userId, String username, String roles) {
+        String family = randomString(16);
+        String token = family + "." + randomString(32);
+
+        redisTemplate.execute(ISSUE, List.of(FAMILY_PREFIX + family, USER_PREFIX + userId),
+                username, roles != null ? roles : "", hash(token), String.valueOf(lifetime.toMillis()), family);
+
+        issued.increment();
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for the next one of its family.
+     *
+     * @throws TokenRefreshException if the token is unknown, expired, revoked or was already used
+     */
+    public Rotation rotate(String token) {
+        int separator = token.indexOf('.');
+
+        if (separator <= 0) {
+            rejected.increment();
+            throw new TokenRefreshException("-", "Invalid refresh token");
+        }
+
+        String family = token.substring(0, separator);
+        String next = family + "." + successor(token);
+        List<?> result = redisTemplate.execute(ROTATE, List.of(FAMILY_PREFIX + family),
+                hash(token), hash(next), String.valueOf(System.currentTimeMillis()), String.valueOf(grace));
+        long outcome = result != null && !result.isEmpty() ? (Long) result.get(0) : 0;
+
+        if (outcome < 0) {
+            reused.increment();
+            log.warn("Refresh token reused, revoked its family => {}", family);
+            throw new TokenRefreshException(family, "Refresh token was already used, please log in again");
+        }
+
+        if (outcome == 0) {
+            rejected.increment();
+            throw new TokenRefreshException(family, "Refresh token expired or revoked, please log in again");
+        }
+
+        (outcome == 2 ? replayed : rotated).increment();
+        String roles = (String) result.get(2);
+        return new Rotation((String) result.get(1), roles.isEmpty() ? null : roles, next);
+    }
+
+    /**
+     * Revokes the family of a refresh token, for when its holder logs out.
+     */
+    public void revoke(String token) {
+        int separator = token.indexOf('.');
+
+        if (separator > 0) {
+            redisTemplate.delete(FAMILY_PREFIX + token.substring(0, separator));
+        }
+    }
+
+    /**
+     * Revokes every family of the user, for when their password or roles change or they are deleted.
+     */
+    public void revokeAll(UUID userId) {
+        String userKey = USER_PREFIX + userId;
+        Set<String> families = redisTemplate.opsForSet().members(userKey);
+
+        if (families != null && !families.isEmpty()) {
+            redisTemplate.delete(families.stream().map(family -> FAMILY_PREFIX + family).toList());
+        }
+        redisTemplate.delete(userKey);
+    }
+
+    private String randomString(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    private String successor(String token) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(successorKey);
+            byte[] value = mac.doFinal(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @param roles the {@code roles} claim for the new access token, or {@code null} for none
+     */
+    public record Rotation(String username, String roles, String refreshToken) { }
+}
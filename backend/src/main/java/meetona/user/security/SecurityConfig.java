@@ -1,7 +1,9 @@
 package meetona.user.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import meetona.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,23 +36,34 @@ public class SecurityConfig {
     protected static final String[] WHITELIST = {
             "/v3/api-docs/**",
             "/swagger-ui/**",
-            "/api/auth"
+            "/api/auth",
+            "/api/auth/refresh"
     };
 
     protected static final String[] ADMIN = {
             "/api/unit/**",
             "/api/user/**",
-            "/api/member/**"
+            "/api/member/**",
+            "/api/attendance/rollups/backfill"
     };
 
     private final AuthFilter authFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CorsProperty corsProperty;
     private final AuthEntryPoint authEntryPoint;
     private final UserRepository userRepository;
 
+    /**
+     * BCrypt on its own threads, half the cores by default, so a burst of logins cannot starve other requests.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -65,10 +78,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         var authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -100,6 +113,7 @@ public class SecurityConfig {
                         .requestMatchers(ADMIN).hasAnyAuthority("ADMIN")
                         .anyRequest().authenticated())
                 .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, AuthFilter.class)
                 .build();
     }
 }
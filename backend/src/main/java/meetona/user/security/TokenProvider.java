@@ -1,40 +1,127 @@
 package meetona.user.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.joining;
 
 
+/**
+ * Issues and verifies access tokens.
+ * <p>
+ * Tokens are verified with one parser built at startup. A verified token's {@link JwtAuthentication}
+ * is cached under the SHA-256 digest of the token until the token expires, so a client repeating its
+ * token skips the signature check and claim parsing. Authorities are shared between all tokens with
+ * the same {@code roles} claim. Each token carries a random {@code jti} so it can be revoked on
+ * its own, see {@link TokenRevocations}.
+ */
 @Slf4j
 @Component
 public class TokenProvider {
 
+    /**
+     * Request attribute holding the authentication of the request's token once a filter has looked it up.
+     */
+    public static final String AUTHENTICATION_ATTRIBUTE = TokenProvider.class.getName() + ".AUTHENTICATION";
+
     private SecretKeySpec key;
+    private JwtParser parser;
     private final JwtProperty jwtProperty;
+    private final Cache<ByteBuffer, Verified> verified;
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+    private final Map<String, GrantedAuthority> internedAuthorities = new ConcurrentHashMap<>();
 
-    public TokenProvider(JwtProperty jwtProperty) {
+    public TokenProvider(
+            JwtProperty jwtProperty,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize
+    ) {
         this.jwtProperty = jwtProperty;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified");
     }
 
     @PostConstruct
     protected void init() {
         byte[] keyBytes = jwtProperty.getSecret().getBytes();
         key = new SecretKeySpec(keyBytes, "HmacSHA512");
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    /**
+     * Verifies the token once and returns who it authenticates, from the cache when the same token
+     * was verified before.
+     *
+     * @return the authentication, or {@code null} if the token is invalid or expired
+     */
+    public Authentication authenticate(String token) {
+        ByteBuffer digest = digest(token);
+        Authentication cached = cached(digest);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+            var authentication = new JwtAuthentication(
+                    claims.getSubject(), authorities(claims.get("roles", String.class)), tokenId(claims), expiresAt);
+
+            verified.put(digest, new Verified(authentication, expiresAt));
+            return authentication;
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty.");
+        }
+        return null;
+    }
+
+    /**
+     * Looks the token up among those already verified, without verifying it.
+     *
+     * @return the authentication, or {@code null} if the token was not verified before or has expired
+     */
+    public Authentication cached(String token) {
+        return cached(digest(token));
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -43,10 +130,7 @@ public class TokenProvider {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -56,42 +140,49 @@ public class TokenProvider {
     }
 
     public String createToken(Authentication authentication) {
-        String username = authentication.getName();
+        return createToken(authentication.getName(), rolesClaim(authentication.getAuthorities()));
+    }
+
+    /**
+     * @param roles the comma separated {@code roles} claim, or {@code null} for none
+     */
+    public String createToken(String username, String roles) {
         Instant expiryDate = Instant.now().plusMillis(jwtProperty.getExpiration());
 
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
         Claims claims = Jwts.claims().setSubject(username);
-        if (!authorities.isEmpty()) {
-            claims.put("roles", authorities.stream().map(GrantedAuthority::getAuthority).collect(joining(",")));
+        if (roles != null) {
+            claims.put("roles", roles);
         }
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(Date.from(Instant.now()))
                 .setExpiration(Date.from(expiryDate))
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * @return the {@code roles} claim for the authorities, or {@code null} if there are none
+     */
+    public static String rolesClaim(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.isEmpty()
+                ? null
+                : authorities.stream().map(GrantedAuthority::getAuthority).collect(joining(","));
+    }
+
     public UUID getUserIdFromJWT(String token) {
-        Jws<Claims> jwsClaims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
+        Jws<Claims> jwsClaims = parser.parseClaimsJws(token);
 
         return UUID.fromString(jwsClaims.getBody().getSubject());
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        Claims claims = parser
                 .parseClaimsJws(token)
                 .getBody();
 
-        Object authoritiesClaim = claims.get("roles");
-
-        Collection<? extends GrantedAuthority> authorities = authoritiesClaim == null ? AuthorityUtils.NO_AUTHORITIES
-                : AuthorityUtils.commaSeparatedStringToAuthorityList(authoritiesClaim.toString());
+        List<GrantedAuthority> authorities = authorities(claims.get("roles", String.class));
 
         User principal = new User(claims.getSubject(), "", authorities);
 
@@ -104,10 +195,7 @@ public class TokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
@@ -122,4 +210,66 @@ public class TokenProvider {
         }
         return false;
     }
+
+    /**
+     * @return the authorities of a {@code roles} claim, the same list instance for the same claim
+     */
+    private List<GrantedAuthority> authorities(String roles) {
+        if (roles == null || roles.isBlank()) {
+            return List.of();
+        }
+
+        return authoritiesByClaim.computeIfAbsent(roles, claim -> Arrays.stream(claim.split(","))
+                .map(String::strip)
+                .filter(role -> !role.isEmpty())
+                .map(role -> internedAuthorities.computeIfAbsent(role, SimpleGrantedAuthority::new))
+                .toList());
+    }
+
+    /**
+     * @return the {@code jti} claim, or {@code null} for tokens issued before tokens had one
+     */
+    private static UUID tokenId(Claims claims) {
+        try {
+            return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private Authentication cached(ByteBuffer digest) {
+        Verified cached = verified.getIfPresent(digest);
+        return cached != null && cached.expiresAt() > System.currentTimeMillis() ? cached.authentication() : null;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record Verified(Authentication authentication, long expiresAt) { }
+
+    /**
+     * Keeps a verified token no longer than the token itself is valid.
+     */
+    private static final class UntilExpiry implements Expiry<ByteBuffer, Verified> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Verified value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import meetona.shared.cache.ScalableBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked before they expire, by token id ({@code jti}).
+ * <p>
+ * Every node holds all revocations in memory: a Bloom filter answers most checks, and only ids it
+ * might contain are looked up in the exact map, so a check costs no network call. Revocations are
+ * kept in a Redis sorted set scored by token expiry, from which a starting node loads them, and
+ * broadcast over the bus to the running nodes. An entry is dropped once its token has expired; the
+ * filter, which cannot drop ids, is rebuilt from the map at the same time.
+ */
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    private static final String KEY = "meetona:jwt:revoked";
+
+    private final double fpp;
+    private final long expectedTokens;
+    private final StringRedisTemplate redisTemplate;
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+    private final ServiceMatcher serviceMatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    private final Counter falsePositives;
+
+    private volatile ScalableBloomFilter filter;
+
+    public TokenRevocations(
+            StringRedisTemplate redisTemplate,
+            BusProperties busProperties,
+            Destination.Factory destinationFactory,
+            ServiceMatcher serviceMatcher,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.revocation.expected-tokens:10000}") long expectedTokens,
+            @Value("${app.jwt.revocation.fpp:0.01}") double fpp
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+        this.serviceMatcher = serviceMatcher;
+        this.eventPublisher = eventPublisher;
+        this.expectedTokens = expectedTokens;
+        this.fpp = fpp;
+        this.filter = new ScalableBloomFilter(expectedTokens, fpp);
+
+        this.falsePositives = meterRegistry.counter("jwt.revocation.false.positives");
+        Gauge.builder("jwt.revocation.tokens", revoked, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.filter.bytes", this, revocations -> revocations.filter.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param tokenId the token's {@code jti}, or {@code null} for tokens issued without one
+     */
+    public boolean isRevoked(UUID tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revokes a token here and on the other nodes until it expires.
+     *
+     * @param expiresAt the token's expiry in epoch milliseconds
+     */
+    public void revoke(UUID tokenId, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+
+        redisTemplate.opsForZSet().add(KEY, tokenId.toString(), expiresAt);
+        addLocal(tokenId, expiresAt);
+        eventPublisher.publishEvent(new TokenRevokedEvent(
+                this, busProperties.getId(), destinationFactory.getDestination(null), tokenId, expiresAt));
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (serviceMatcher.isFromSelf(event)) {
+            return;
+        }
+        addLocal(event.getTokenId(), event.getExpiresAt());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long now = System.currentTimeMillis();
+
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(KEY, 0, now);
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet().rangeWithScores(KEY, 0, -1);
+
+            if (entries != null) {
+                entries.forEach(entry -> addLocal(UUID.fromString(entry.getValue()), entry.getScore().longValue()));
+            }
+            log.info("Loaded token revocations => {}", revoked.size());
+        } catch (RuntimeException ex) {
+            log.warn("Could not load token revocations, only new ones will be refused", ex);
+        }
+    }
+
+    /**
+     * Drops revocations of expired tokens and rebuilds the filter without them.
+     */
+    @Scheduled(
+            initialDelayString = "${app.jwt.revocation.purge-interval:600000}",
+            fixedDelayString = "${app.jwt.revocation.purge-interval:600000}")
+    public synchronized void purge() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        var rebuilt = new ScalableBloomFilter(Math.max(expectedTokens, revoked.size()), fpp);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(KEY, 0, now);
+        } catch (RuntimeException ex) {
+            log.warn("Could not purge expired token revocations from Redis", ex);
+        }
+    }
+
+    private synchronized void addLocal(UUID tokenId, long expiresAt) {
+        revoked.merge(tokenId, expiresAt, Math::max);
+        filter.add(tokenId);
+    }
+}
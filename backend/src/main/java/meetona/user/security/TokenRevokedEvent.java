@@ -0,0 +1,27 @@
+package meetona.user.security;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Broadcast over the bus when an access token is revoked so other nodes refuse it too.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TokenRevokedEvent extends RemoteApplicationEvent {
+
+    private UUID tokenId;
+    private long expiresAt;
+
+    public TokenRevokedEvent(Object source, String originService, Destination destination, UUID tokenId, long expiresAt) {
+        super(source, originService, destination);
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,5 @@
+CREATE INDEX idx_members_created_dt_id ON members (created_dt, id);
+
+CREATE INDEX idx_meetings_created_dt_id ON meetings (created_dt, id);
+
+CREATE INDEX idx_users_created_dt_id ON users (created_dt, id);
@@ -0,0 +1,16 @@
+CREATE TABLE attendances (
+  id UUID NOT NULL,
+   created_by VARCHAR(50),
+   created_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   updated_by VARCHAR(50),
+   updated_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   version INTEGER,
+   meeting_id UUID NOT NULL,
+   member_id UUID NOT NULL,
+   CONSTRAINT pk_attendances PRIMARY KEY (id)
+);
+ALTER TABLE attendances ADD CONSTRAINT uc_attendances_meeting_member UNIQUE (meeting_id, member_id);
+ALTER TABLE attendances ADD CONSTRAINT FK_ATTENDANCES_ON_MEETING FOREIGN KEY (meeting_id) REFERENCES meetings (id) ON DELETE CASCADE;
+ALTER TABLE attendances ADD CONSTRAINT FK_ATTENDANCES_ON_MEMBER FOREIGN KEY (member_id) REFERENCES members (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_attendances_member_id ON attendances (member_id);
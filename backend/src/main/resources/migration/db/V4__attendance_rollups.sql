@@ -0,0 +1,11 @@
+CREATE TABLE attendance_rollups (
+  unit_id UUID NOT NULL,
+   period VARCHAR(5) NOT NULL,
+   bucket_start DATE NOT NULL,
+   meeting_count BIGINT NOT NULL,
+   attendance_count BIGINT NOT NULL,
+   CONSTRAINT pk_attendance_rollups PRIMARY KEY (unit_id, period, bucket_start)
+);
+ALTER TABLE attendance_rollups ADD CONSTRAINT FK_ATTENDANCE_ROLLUPS_ON_UNIT FOREIGN KEY (unit_id) REFERENCES units (id) ON DELETE CASCADE;
+
+CREATE INDEX idx_meetings_unit_id_created_dt ON meetings (unit_id, created_dt);
@@ -0,0 +1,66 @@
+-- meetings becomes partitioned by month of the new meeting_date column; existing meetings are dated
+-- by their creation. A partitioned table cannot be referenced by a key that leaves out the partition
+-- column, so attendances lose their foreign key to meetings and are deleted by the application.
+ALTER TABLE attendances DROP CONSTRAINT FK_ATTENDANCES_ON_MEETING;
+
+ALTER TABLE meetings RENAME TO meetings_unpartitioned;
+ALTER TABLE meetings_unpartitioned RENAME CONSTRAINT pk_meetings TO pk_meetings_unpartitioned;
+
+CREATE TABLE meetings (
+  id UUID NOT NULL,
+   created_by VARCHAR(50),
+   created_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   updated_by VARCHAR(50),
+   updated_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   version INTEGER,
+   member_count INTEGER NOT NULL,
+   prayer_point VARCHAR(255) NOT NULL,
+   unit_id UUID,
+   meeting_date DATE NOT NULL,
+   CONSTRAINT pk_meetings PRIMARY KEY (id, meeting_date)
+) PARTITION BY RANGE (meeting_date);
+ALTER TABLE meetings ADD CONSTRAINT FK_MEETINGS_ON_UNIT FOREIGN KEY (unit_id) REFERENCES units (id);
+
+-- Catches meetings dated outside the monthly partitions; MeetingPartitions keeps months ahead created.
+CREATE TABLE meetings_default PARTITION OF meetings DEFAULT;
+
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT min(created_dt) FROM meetings_unpartitioned), now()));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + INTERVAL '3 months' LOOP
+        EXECUTE format(
+                'CREATE TABLE %I PARTITION OF meetings FOR VALUES FROM (%L) TO (%L)',
+                'meetings_' || to_char(month, 'YYYY_MM'),
+                month,
+                CAST(month + INTERVAL '1 month' AS DATE));
+        month := CAST(month + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END $$;
+
+INSERT INTO meetings (id, created_by, created_dt, updated_by, updated_dt, version, member_count, prayer_point, unit_id, meeting_date)
+SELECT id, created_by, created_dt, updated_by, updated_dt, version, member_count, prayer_point, unit_id, CAST(created_dt AS DATE)
+  FROM meetings_unpartitioned;
+
+DROP TABLE meetings_unpartitioned;
+
+CREATE INDEX idx_meetings_created_dt_id ON meetings (created_dt, id);
+CREATE INDEX idx_meetings_unit_id_meeting_date ON meetings (unit_id, meeting_date);
+
+-- Partitions past the retention window are moved here. Rows are written once and never updated,
+-- so pages are filled completely and only the index reads need is kept.
+CREATE TABLE meetings_archive (
+  id UUID NOT NULL,
+   created_by VARCHAR(50),
+   created_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   updated_by VARCHAR(50),
+   updated_dt TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   version INTEGER,
+   member_count INTEGER NOT NULL,
+   prayer_point VARCHAR(255) NOT NULL,
+   unit_id UUID,
+   meeting_date DATE NOT NULL,
+   CONSTRAINT pk_meetings_archive PRIMARY KEY (id)
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_meetings_archive_unit_id_meeting_date ON meetings_archive (unit_id, meeting_date) WITH (fillfactor = 100);
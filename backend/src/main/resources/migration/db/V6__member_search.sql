@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Lower-cased names, email and phone in one column, so a single trigram index serves the search.
+ALTER TABLE members ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+    lower(first_name || ' ' || COALESCE(middle_name || ' ', '') || last_name || ' ' || email || ' ' || phone_number)
+) STORED;
+
+CREATE INDEX idx_members_search_text ON members USING GIN (search_text gin_trgm_ops);
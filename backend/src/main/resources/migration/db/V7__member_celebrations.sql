@@ -0,0 +1,12 @@
+-- Month and day of birth and marriage as MMDD, so celebrants in a date window are found with an
+-- index range scan instead of computing date parts for every member.
+ALTER TABLE members ADD COLUMN birth_mmdd SMALLINT GENERATED ALWAYS AS (
+    CAST(EXTRACT(MONTH FROM birth_date) * 100 + EXTRACT(DAY FROM birth_date) AS SMALLINT)
+) STORED;
+
+ALTER TABLE members ADD COLUMN marriage_mmdd SMALLINT GENERATED ALWAYS AS (
+    CAST(EXTRACT(MONTH FROM marriage_date) * 100 + EXTRACT(DAY FROM marriage_date) AS SMALLINT)
+) STORED;
+
+CREATE INDEX idx_members_birth_mmdd ON members (birth_mmdd) WHERE birth_mmdd IS NOT NULL;
+CREATE INDEX idx_members_marriage_mmdd ON members (marriage_mmdd) WHERE marriage_mmdd IS NOT NULL;
@@ -0,0 +1,4 @@
+-- birth_date is NOT NULL, so the partial predicate on the birth_mmdd index filtered nothing and only
+-- kept the planner from using it for queries that do not repeat it. Marriage dates stay partial.
+DROP INDEX idx_members_birth_mmdd;
+CREATE INDEX idx_members_birth_mmdd ON members (birth_mmdd);
@@ -0,0 +1,75 @@
+package meetona.department;
+
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(DepartmentService.class)
+class DepartmentServiceTest extends PostgresJpaTest {
+
+    @MockBean
+    private DepartmentMapper mapper;
+
+    @MockBean
+    private CacheGenerations cacheGenerations;
+
+    @MockBean
+    private EntityCounter entityCounter;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(Department.builder().name("Choir").lead("Lead").build());
+        startCounting();
+    }
+
+    @Test
+    void updateIsOneStatement() {
+        departmentService.update(department.getId(), new DepartmentRequest("Ushers", "Other lead"));
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(departmentRepository.findById(department.getId())).get()
+                .extracting(Department::getName, Department::getVersion)
+                .containsExactly("Ushers", department.getVersion() + 1);
+    }
+
+    @Test
+    void deleteIsOneStatement() {
+        departmentService.delete(department.getId());
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(departmentRepository.existsById(department.getId())).isFalse();
+    }
+
+    @Test
+    void updateOfMissingDepartmentIsNotFound() {
+        assertThatThrownBy(() -> departmentService.update(UUID.randomUUID(), new DepartmentRequest("Ushers", "Lead")))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteOfMissingDepartmentIsNotFound() {
+        assertThatThrownBy(() -> departmentService.delete(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+}
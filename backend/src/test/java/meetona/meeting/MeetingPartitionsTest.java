@@ -0,0 +1,112 @@
+package meetona.meeting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.unit.Unit;
+import meetona.unit.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MeetingPartitionsTest extends PostgresJpaTest {
+
+    private static final int MONTHS_AHEAD = 12;
+
+    private static final int RETENTION_MONTHS = 24;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    private MeetingPartitions meetingPartitions;
+
+    @BeforeEach
+    void setUp() {
+        meetingPartitions = new MeetingPartitions(
+                jdbcTemplate,
+                mock(CacheManager.class),
+                new SimpleMeterRegistry(),
+                mock(EntityCounter.class),
+                mock(CacheGenerations.class),
+                transactionManager,
+                MONTHS_AHEAD,
+                RETENTION_MONTHS);
+    }
+
+    @Test
+    void createAheadMovesMeetingsOutOfTheDefaultPartition() {
+        YearMonth month = YearMonth.now().plusMonths(MONTHS_AHEAD);
+        Meeting meeting = meeting(month.atDay(15));
+
+        assertThat(partitionOf(meeting)).isEqualTo("meetings_default");
+
+        meetingPartitions.createAhead();
+
+        assertThat(partitionOf(meeting)).isEqualTo("meetings_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhrelid = CAST('meetings_default' AS REGCLASS)",
+                Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void archiveMovesExpiredMeetingsOutOfTheDefaultPartition() {
+        Meeting expired = meeting(YearMonth.now().minusYears(30).atDay(15));
+        Meeting recent = meeting(YearMonth.now().minusMonths(RETENTION_MONTHS - 1).atDay(15));
+
+        assertThat(partitionOf(expired)).isEqualTo("meetings_default");
+
+        assertThat(meetingPartitions.archive()).isEqualTo(1);
+        assertThat(meetingRepository.existsById(expired.getId())).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM meetings_archive WHERE id = ?", Integer.class, expired.getId())).isEqualTo(1);
+        assertThat(partitionOf(recent)).isEqualTo("meetings_default");
+    }
+
+    @Test
+    void createAheadIsIdempotent() {
+        meetingPartitions.createAhead();
+        meetingPartitions.createAhead();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                "meetings_" + LocalDate.now().plusMonths(MONTHS_AHEAD).format(DateTimeFormatter.ofPattern("yyyy_MM"))))
+                .isTrue();
+    }
+
+    private Meeting meeting(LocalDate meetingDate) {
+        Unit unit = unitRepository.save(Unit.builder().name("Unit").address("Address").build());
+        Meeting meeting = meetingRepository.save(Meeting.builder()
+                .memberCount(10)
+                .prayerPoint("Prayer point")
+                .meetingDate(meetingDate)
+                .unit(unit)
+                .build());
+        entityManager.flush();
+        return meeting;
+    }
+
+    private String partitionOf(Meeting meeting) {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(tableoid::regclass AS TEXT) FROM meetings WHERE id = ?", String.class, meeting.getId());
+    }
+}
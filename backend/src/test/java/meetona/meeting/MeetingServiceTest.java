@@ -0,0 +1,151 @@
+package meetona.meeting;
+
+import meetona.attendance.AttendanceRollups;
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.IdFilters;
+import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.export.ExportWriter;
+import meetona.shared.response.PagedResponse;
+import meetona.unit.Unit;
+import meetona.unit.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(MeetingService.class)
+class MeetingServiceTest extends PostgresJpaTest {
+
+    @MockBean
+    private IdFilters idFilters;
+
+    @MockBean
+    private AttendanceRollups attendanceRollups;
+
+    @MockBean
+    private ExportWriter exportWriter;
+
+    @MockBean
+    private MeetingMapper mapper;
+
+    @MockBean
+    private MeetingPartitions meetingPartitions;
+
+    @MockBean
+    private CacheGenerations cacheGenerations;
+
+    @MockBean
+    private EntityCounter entityCounter;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    private Unit unit;
+
+    private List<Meeting> meetings;
+
+    @BeforeEach
+    void setUp() {
+        unit = unitRepository.save(Unit.builder().name("Unit").address("Address").build());
+        meetings = meetingRepository.saveAll(List.of(meeting(1), meeting(2), meeting(3)));
+        startCounting();
+    }
+
+    @Test
+    void getAllPageIsOneStatement() {
+        var response = meetingService.getAll(PageRequest.of(0, 2), false);
+
+        assertThat(response.getData()).hasSize(2);
+        assertThat(response.getData().get(0).unitId()).isEqualTo(unit.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllKeysetIsOneStatementPerPage() {
+        PagedResponse<MeetingDto> first = meetingService.getAll(null, 2).getData();
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        PagedResponse<MeetingDto> second = meetingService.getAll(first.getNextCursor(), 2).getData();
+
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.isLast()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getByIdIsOneStatement() {
+        UUID id = meetings.get(0).getId();
+
+        MeetingDto meeting = meetingService.getById(id).getData();
+
+        assertThat(meeting.id()).isEqualTo(id);
+        assertThat(meeting.unitId()).isEqualTo(unit.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateIsOneStatement() {
+        Meeting meeting = meetings.get(0);
+        var request = new MeetingRequest(42, "Updated", unit.getId(), meeting.getMeetingDate());
+
+        MeetingDto updated = meetingService.update(meeting.getId(), request).getData();
+
+        assertThat(updated.prayerPoint()).isEqualTo("Updated");
+        assertThat(updated.memberCount()).isEqualTo(meeting.getMemberCount());
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteIsOneStatement() {
+        UUID id = meetings.get(0).getId();
+
+        meetingService.delete(id);
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(meetingRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void updateOfMissingMeetingIsNotFound() {
+        var request = new MeetingRequest(42, "Updated", unit.getId(), null);
+
+        assertThatThrownBy(() -> meetingService.update(UUID.randomUUID(), request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteOfMissingMeetingIsNotFound() {
+        assertThatThrownBy(() -> meetingService.delete(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    private Meeting meeting(int n) {
+        return Meeting.builder()
+                .memberCount(10 * n)
+                .prayerPoint("Prayer point " + n)
+                .meetingDate(LocalDate.now().minusDays(n))
+                .unit(unit)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package meetona.member;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCelebrantsTest {
+
+    @Test
+    void windowWithinAYearIsOneRange() {
+        assertThat(MemberCelebrants.ranges(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 7)))
+                .containsExactly(301, 307, 1, 0);
+    }
+
+    @Test
+    void windowAcrossTheNewYearIsTwoRanges() {
+        assertThat(MemberCelebrants.ranges(LocalDate.of(2024, 12, 28), LocalDate.of(2025, 1, 3)))
+                .containsExactly(1228, 1231, 101, 103);
+    }
+
+    @Test
+    void windowOfAYearOrMoreIsEveryDay() {
+        assertThat(MemberCelebrants.ranges(LocalDate.of(2025, 6, 1), LocalDate.of(2026, 6, 1)))
+                .containsExactly(101, 1231, 1, 0);
+    }
+
+    @Test
+    void windowEndingOn28FebruaryOfACommonYearTakesIn29February() {
+        assertThat(MemberCelebrants.ranges(LocalDate.of(2025, 2, 22), LocalDate.of(2025, 2, 28)))
+                .containsExactly(222, 229, 1, 0);
+        assertThat(MemberCelebrants.ranges(LocalDate.of(2024, 2, 22), LocalDate.of(2024, 2, 28)))
+                .containsExactly(222, 228, 1, 0);
+    }
+
+    @Test
+    void leapDayIsCelebratedOn28FebruaryOfACommonYear() {
+        LocalDate born = LocalDate.of(2000, 2, 29);
+
+        assertThat(MemberCelebrants.occurrence(born, LocalDate.of(2025, 2, 22), LocalDate.of(2025, 2, 28)))
+                .isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(MemberCelebrants.occurrence(born, LocalDate.of(2024, 2, 22), LocalDate.of(2024, 3, 1)))
+                .isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void occurrenceAcrossTheNewYearFallsInTheNextYear() {
+        LocalDate from = LocalDate.of(2024, 12, 28);
+        LocalDate to = LocalDate.of(2025, 1, 3);
+
+        assertThat(MemberCelebrants.occurrence(LocalDate.of(1990, 1, 2), from, to)).isEqualTo(LocalDate.of(2025, 1, 2));
+        assertThat(MemberCelebrants.occurrence(LocalDate.of(1990, 12, 30), from, to)).isEqualTo(LocalDate.of(2024, 12, 30));
+    }
+
+    @Test
+    void noOccurrenceOutsideTheWindowOrBeforeTheDate() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 7);
+
+        assertThat(MemberCelebrants.occurrence(LocalDate.of(1990, 3, 8), from, to)).isNull();
+        assertThat(MemberCelebrants.occurrence(LocalDate.of(2026, 3, 2), from, to)).isNull();
+    }
+}
@@ -0,0 +1,39 @@
+package meetona.member;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberImporterTest {
+
+    @Test
+    void splitsOnCommas() {
+        assertThat(MemberImporter.splitCsv("Ada,,Lovelace")).containsExactly("Ada", "", "Lovelace");
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInQuotedValues() {
+        assertThat(MemberImporter.splitCsv("\"Lovelace, Ada\",\"Says \"\"hi\"\"\",x"))
+                .containsExactly("Lovelace, Ada", "Says \"hi\"", "x");
+    }
+
+    @Test
+    void keepsLineBreaksInQuotedValues() {
+        assertThat(MemberImporter.splitCsv("Ada,\"12 Main St\nIkeja\",Unit"))
+                .containsExactly("Ada", "12 Main St\nIkeja", "Unit");
+    }
+
+    @Test
+    void readsRecordsWhoseQuotedValuesSpanLines() throws IOException {
+        var reader = new BufferedReader(new StringReader(
+                "Ada,\"12 Main St\nIkeja\",Unit\nGrace,\"Says \"\"hi\"\"\",Unit\n"));
+
+        assertThat(MemberImporter.readRecord(reader)).isEqualTo("Ada,\"12 Main St\nIkeja\",Unit");
+        assertThat(MemberImporter.readRecord(reader)).isEqualTo("Grace,\"Says \"\"hi\"\"\",Unit");
+        assertThat(MemberImporter.readRecord(reader)).isNull();
+    }
+}
@@ -0,0 +1,185 @@
+package meetona.member;
+
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.IdFilters;
+import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.export.ExportWriter;
+import meetona.shared.response.PagedResponse;
+import meetona.shared.suggest.SuggestIndex;
+import meetona.unit.Unit;
+import meetona.unit.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Import(MemberService.class)
+class MemberServiceTest extends PostgresJpaTest {
+
+    @MockBean
+    private IdFilters idFilters;
+
+    @MockBean
+    private ExportWriter exportWriter;
+
+    @MockBean
+    private MemberMapper mapper;
+
+    @MockBean
+    private CacheGenerations cacheGenerations;
+
+    @MockBean
+    private EntityCounter entityCounter;
+
+    @MockBean
+    private MemberActionProducer memberActionProducer;
+
+    @MockBean
+    private MemberSearch memberSearch;
+
+    @MockBean
+    private SuggestIndex suggestIndex;
+
+    @MockBean
+    private MemberCelebrants memberCelebrants;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        Unit unit = unitRepository.save(Unit.builder().name("Unit").address("Address").build());
+        members = memberRepository.saveAll(List.of(member(unit, 1), member(unit, 2), member(unit, 3)));
+        startCounting();
+    }
+
+    @Test
+    void getAllPageIsOneStatement() {
+        var response = memberService.getAll(PageRequest.of(0, 2), false);
+
+        assertThat(response.getData()).hasSize(2);
+        assertThat(response.getData().get(0).unit()).isEqualTo("Unit");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllKeysetIsOneStatementPerPage() {
+        PagedResponse<MemberDto> first = memberService.getAll(null, 2).getData();
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        PagedResponse<MemberDto> second = memberService.getAll(first.getNextCursor(), 2).getData();
+
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.isLast()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getByIdIsOneStatement() {
+        UUID id = members.get(0).getId();
+
+        MemberDto member = memberService.getById(id).getData();
+
+        assertThat(member.id()).isEqualTo(id);
+        assertThat(member.unit()).isEqualTo("Unit");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateIsOneStatement() {
+        Member member = members.get(0);
+
+        MemberDto updated = memberService.update(member.getId(), request(member.getUnit(), "Renamed")).getData();
+
+        assertThat(updated.firstName()).isEqualTo("Renamed");
+        assertThat(updated.unit()).isEqualTo("Unit");
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void updateOfCelebratedFieldsBumpsCelebrants() {
+        Member member = members.get(0);
+
+        memberService.update(member.getId(), request(member.getUnit(), "Renamed"));
+
+        verify(cacheGenerations).bump("members");
+        verify(cacheGenerations).bump("celebrants");
+    }
+
+    @Test
+    void updateOfOtherFieldsKeepsCelebrants() {
+        Member member = members.get(0);
+
+        memberService.update(member.getId(), request(member.getUnit(), member.getFirstName()));
+
+        verify(cacheGenerations).bump("members");
+        verify(cacheGenerations, never()).bump("celebrants");
+    }
+
+    @Test
+    void deleteIsOneStatement() {
+        UUID id = members.get(0).getId();
+
+        memberService.delete(id);
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(memberRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void updateOfMissingMemberIsNotFound() {
+        MemberRequest request = request(members.get(0).getUnit(), "Renamed");
+
+        assertThatThrownBy(() -> memberService.update(UUID.randomUUID(), request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteOfMissingMemberIsNotFound() {
+        assertThatThrownBy(() -> memberService.delete(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    private static MemberRequest request(Unit unit, String firstName) {
+        return new MemberRequest(firstName, null, "Last1", Gender.FEMALE, "member1@example.com", "08000000001",
+                LocalDate.of(1990, 1, 1), MaritalStatus.SINGLE, null, unit.getId(), null);
+    }
+
+    private static Member member(Unit unit, int n) {
+        return Member.builder()
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .gender(Gender.FEMALE)
+                .email("member" + n + "@example.com")
+                .phoneNumber("0800000000" + n)
+                .birthDate(LocalDate.of(1990, 1, n))
+                .maritalStatus(MaritalStatus.SINGLE)
+                .unit(unit)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package meetona.shared;
+
+import meetona.shared.config.AuditConfig;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * JPA slice against PostgreSQL with the schema of {@code migration/db}, for tests that count the
+ * statements a service issues. The container is started once for all test classes; the tests are
+ * skipped where Docker is not available.
+ * <p>
+ * {@link #statistics} counts what Hibernate prepares and {@link #statements} every statement on the
+ * connection, including those of the {@code JdbcTemplate} repository fragments.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AuditConfig.class, SqlStatements.class})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresJpaTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    protected SqlStatements statements;
+
+    protected Statistics statistics;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    void statistics(jakarta.persistence.EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Writes pending changes, empties the persistence context and resets both counters, so that what
+     * follows is counted from a cold session.
+     */
+    protected void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        statements.clear();
+    }
+
+    private static synchronized void start() {
+        if (POSTGRES.isRunning()) {
+            return;
+        }
+
+        POSTGRES.start();
+        try {
+            migrate();
+        } catch (IOException | InterruptedException ex) {
+            throw new IllegalStateException("Could not apply the migrations", ex);
+        }
+    }
+
+    /**
+     * Runs the migrations in version order with psql, which handles the dollar-quoted blocks.
+     */
+    private static void migrate() throws IOException, InterruptedException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:migration/db/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(PostgresJpaTest::version));
+
+        for (Resource migration : migrations) {
+            String path = "/tmp/" + migration.getFilename();
+            POSTGRES.copyFileToContainer(Transferable.of(migration.getContentAsByteArray()), path);
+
+            Container.ExecResult result = POSTGRES.execInContainer(
+                    "psql", "-v", "ON_ERROR_STOP=1", "-q",
+                    "-U", POSTGRES.getUsername(), "-d", POSTGRES.getDatabaseName(), "-f", path);
+
+            if (result.getExitCode() != 0) {
+                throw new IllegalStateException(migration.getFilename() + " failed: " + result.getStderr());
+            }
+        }
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,106 @@
+package meetona.shared;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records the SQL of every statement prepared or executed through the data source, whoever issues it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatements implements BeanPostProcessor {
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource
+                ? proxy(DataSource.class, dataSource, this::onDataSource)
+                : bean;
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * @return the statements since the last {@link #clear()}, in order
+     */
+    public List<String> all() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    /**
+     * @return the inserts, updates and deletes since the last {@link #clear()}, counting a statement
+     * whose writable common table expressions modify rows as one
+     */
+    public List<String> dml() {
+        return all().stream()
+                .filter(SqlStatements::isDml)
+                .toList();
+    }
+
+    private static boolean isDml(String sql) {
+        String normalized = sql.strip().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("insert")
+                || normalized.startsWith("update")
+                || normalized.startsWith("delete")
+                || (normalized.startsWith("with") && normalized.matches("(?s).*\\b(insert|update|delete)\\b.*"));
+    }
+
+    private Object onDataSource(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        return result instanceof Connection connection
+                ? proxy(Connection.class, connection, this::onConnection)
+                : result;
+    }
+
+    private Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+        if ((method.getName().startsWith("prepare")) && args != null && args[0] instanceof String sql) {
+            statements.add(sql);
+        }
+
+        Object result = invoke(target, method, args);
+        return result instanceof Statement statement && method.getName().equals("createStatement")
+                ? proxy(Statement.class, statement, this::onStatement)
+                : result;
+    }
+
+    private Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+            statements.add(sql);
+        }
+        return invoke(target, method, args);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,57 @@
+package meetona.shared.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScalableBloomFilterTest {
+
+    private static final double FPP = 0.01;
+
+    @Test
+    void neverReportsAnAddedIdAsAbsent() {
+        var filter = new ScalableBloomFilter(1_024, FPP);
+        List<UUID> ids = randomIds(50_000);
+
+        ids.forEach(filter::add);
+
+        assertThat(ids).allMatch(filter::mightContain);
+        assertThat(filter.size()).isEqualTo(ids.size());
+    }
+
+    @Test
+    void growsAndKeepsTheFalsePositiveRate() {
+        var filter = new ScalableBloomFilter(1_024, FPP);
+        long initialBytes = filter.sizeInBytes();
+
+        randomIds(50_000).forEach(filter::add);
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightContain).count();
+
+        assertThat(filter.sizeInBytes()).isGreaterThan(initialBytes);
+        assertThat(filter.expectedFpp()).isLessThan(FPP);
+        assertThat(falsePositives / 100_000.0).isLessThan(FPP * 1.5);
+    }
+
+    @Test
+    void rejectsAnInvalidFalsePositiveRate() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(1_024, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(1_024, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
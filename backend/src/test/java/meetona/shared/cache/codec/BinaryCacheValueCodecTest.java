@@ -0,0 +1,110 @@
+package meetona.shared.cache.codec;
+
+import meetona.member.Celebrant;
+import meetona.member.Gender;
+import meetona.member.MaritalStatus;
+import meetona.member.MemberDto;
+import meetona.shared.cache.CacheEntry;
+import meetona.shared.response.ApiResponse;
+import meetona.shared.response.PagedResponse;
+import meetona.unit.UnitDto;
+import meetona.user.dtos.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryCacheValueCodecTest {
+
+    private final BinaryCacheValueCodec codec = new BinaryCacheValueCodec();
+
+    @Test
+    void roundTripsAMemberPage() {
+        var page = new ApiResponse<>(List.of(member(null), member(LocalDate.of(2015, 6, 1))), true);
+
+        assertThat(roundTrip(page)).isEqualTo(page);
+    }
+
+    @Test
+    void roundTripsSlicesAndKeysetPages() {
+        var slice = new ApiResponse<>(List.of(new UnitDto(UUID.randomUUID(), "Unit", null)), true, true, 42L);
+        var keyset = new ApiResponse<>(new PagedResponse<>(List.of(member(null)), 20, "cursor", false), true);
+
+        assertThat(roundTrip(slice)).isEqualTo(slice);
+        assertThat(roundTrip(keyset)).isEqualTo(keyset);
+    }
+
+    @Test
+    void roundTripsRefreshAheadEntries() {
+        var entry = new CacheEntry(new ApiResponse<>(new UnitDto(UUID.randomUUID(), "Unit", "Address"), true), 1234L);
+
+        assertThat(roundTrip(entry)).isEqualTo(entry);
+    }
+
+    @Test
+    void roundTripsCelebrants() {
+        var celebrant = new Celebrant(UUID.randomUUID(), "Ada", "Lovelace", UUID.randomUUID(), "Unit",
+                Celebrant.Occasion.BIRTHDAY, LocalDate.of(2025, 12, 10), 35);
+
+        assertThat(roundTrip(List.of(celebrant))).isEqualTo(List.of(celebrant));
+    }
+
+    @Test
+    void dropsUserTokens() {
+        var user = new UserDto(UUID.randomUUID(), "ada", "ada@example.com", List.of("USER"), null, "access", "refresh");
+
+        assertThat(roundTrip(user)).isEqualTo(new UserDto(
+                user.id(), user.username(), user.email(), user.roles(), user.memberId(), null, null));
+    }
+
+    @Test
+    void embedsValuesWithoutASchemaAsJson() {
+        var map = new LinkedHashMap<String, Object>();
+        map.put("key", "value");
+        var value = new ApiResponse<>(map, true);
+
+        assertThat(roundTrip(value)).isEqualTo(value);
+    }
+
+    @Test
+    void treatsANewerSchemaAsAMiss() {
+        byte[] bytes = codec.encode(new ApiResponse<>("value", true));
+        bytes[0] = BinaryCacheValueCodec.SCHEMA_VERSION + 1;
+
+        assertThat(codec.decode(bytes, 0, bytes.length)).isNull();
+    }
+
+    @Test
+    void serializerReadsEntriesOfEitherCodec() {
+        var page = new ApiResponse<>(List.of(member(null)), true);
+        var binary = VersionedCacheSerializer.of("binary");
+        var json = VersionedCacheSerializer.of("json");
+
+        assertThat(binary.deserialize(json.serialize(page))).isEqualTo(page);
+        assertThat(json.deserialize(binary.serialize(page))).isEqualTo(page);
+    }
+
+    private Object roundTrip(Object value) {
+        byte[] bytes = codec.encode(value);
+        return codec.decode(bytes, 0, bytes.length);
+    }
+
+    private static MemberDto member(LocalDate marriageDate) {
+        return new MemberDto(
+                UUID.randomUUID(),
+                "Ada",
+                null,
+                "Lovelace",
+                Gender.FEMALE,
+                "ada@example.com",
+                "08012345678",
+                LocalDate.of(1990, 12, 10),
+                marriageDate,
+                marriageDate != null ? MaritalStatus.MARRIED : MaritalStatus.SINGLE,
+                "Unit");
+    }
+}
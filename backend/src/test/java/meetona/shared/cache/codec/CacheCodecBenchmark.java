@@ -0,0 +1,116 @@
+package meetona.shared.cache.codec;
+
+import meetona.member.Gender;
+import meetona.member.MaritalStatus;
+import meetona.member.MemberDto;
+import meetona.shared.response.ApiResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the encode/decode cost of a 20 member page between the JSON and the binary cache codec,
+ * with the cached size reported as {@code bytesPerEntry}. Run with {@code main} from the test
+ * classpath; not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private ApiResponse<List<MemberDto>> page;
+    private byte[] encoded;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        serializer = VersionedCacheSerializer.of(codec);
+        page = memberPage(20);
+        encoded = serializer.serialize(page);
+    }
+
+    @Benchmark
+    public byte[] encode(Size size) {
+        size.record();
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object decode(Size size) {
+        size.record();
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * The size of the cached entry, reported next to the timings. JMH sums event counters over the
+     * measurement iterations and resets them when each starts, so each iteration sets its share of it.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public double bytesPerEntry;
+
+        private double share;
+
+        @Setup(Level.Iteration)
+        public void setUp(CacheCodecBenchmark benchmark, IterationParams iteration) {
+            share = (double) benchmark.encoded.length / iteration.getCount();
+        }
+
+        void record() {
+            bytesPerEntry = share;
+        }
+    }
+
+    private static ApiResponse<List<MemberDto>> memberPage(int size) {
+        List<MemberDto> members = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            members.add(new MemberDto(
+                    UUID.randomUUID(),
+                    "Firstname" + i,
+                    "Middlename" + i,
+                    "Lastname" + i,
+                    i % 2 == 0 ? Gender.MALE : Gender.FEMALE,
+                    "member" + i + "@meetona.com",
+                    "0801234" + String.format("%04d", i),
+                    LocalDate.of(1990, 1, 1).plusDays(i * 37L),
+                    i % 3 == 0 ? LocalDate.of(2015, 6, 1).plusDays(i) : null,
+                    i % 3 == 0 ? MaritalStatus.MARRIED : MaritalStatus.SINGLE,
+                    "Unit " + (i % 4)));
+        }
+        return new ApiResponse<>(members, true);
+    }
+}
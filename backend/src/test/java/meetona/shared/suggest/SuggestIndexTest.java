@@ -0,0 +1,91 @@
+package meetona.shared.suggest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meetona.member.MemberRepository;
+import meetona.unit.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SuggestIndexTest {
+
+    private static final int REBUILD_THRESHOLD = 3;
+
+    private SuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestIndex(
+                new SimpleMeterRegistry(),
+                mock(MemberRepository.class),
+                mock(UnitRepository.class),
+                mock(PlatformTransactionManager.class),
+                REBUILD_THRESHOLD);
+    }
+
+    @Test
+    void matchesAnyWordOrTheWholeName() {
+        Suggestion ada = member("Ada", "King", "Lovelace");
+        index.put(ada);
+
+        assertThat(index.suggest("love", null, 10)).containsExactly(ada);
+        assertThat(index.suggest("ada k", null, 10)).containsExactly(ada);
+        assertThat(index.suggest("  ADA   KING ", null, 10)).containsExactly(ada);
+        assertThat(index.suggest("ace", null, 10)).isEmpty();
+        assertThat(index.suggest(" ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void filtersByKindAndOrdersByTheMatchingKey() {
+        Suggestion unit = Suggestion.unit(UUID.randomUUID(), "Lagos Central");
+        Suggestion grace = member("Grace", null, "Lawal");
+        Suggestion ada = member("Ada", null, "Lovelace");
+        index.put(unit);
+        index.put(grace);
+        index.put(ada);
+
+        assertThat(index.suggest("la", null, 10)).containsExactly(unit, grace);
+        assertThat(index.suggest("l", Suggestion.Kind.MEMBER, 10)).containsExactly(grace, ada);
+        assertThat(index.suggest("l", null, 1)).containsExactly(unit);
+    }
+
+    @Test
+    void findsNamesAfterTheChangesAreFolded() {
+        Suggestion ada = member("Ada", null, "Lovelace");
+        index.put(ada);
+        for (int i = 0; i < REBUILD_THRESHOLD; i++) {
+            index.put(member("Member" + i, null, "Other"));
+        }
+
+        assertThat(index.suggest("lovel", null, 10)).containsExactly(ada);
+        assertThat(index.suggest("member", null, 10)).hasSize(REBUILD_THRESHOLD);
+    }
+
+    @Test
+    void changesOverrideFoldedNames() {
+        Suggestion ada = member("Ada", null, "Lovelace");
+        Suggestion grace = member("Grace", null, "Hopper");
+        index.put(ada);
+        index.put(grace);
+        for (int i = 0; i < REBUILD_THRESHOLD; i++) {
+            index.put(member("Member" + i, null, "Other"));
+        }
+
+        Suggestion renamed = Suggestion.member(ada.id(), "Ada", null, "Byron");
+        index.put(renamed);
+        index.remove(grace.id());
+
+        assertThat(index.suggest("lovelace", null, 10)).isEmpty();
+        assertThat(index.suggest("byron", null, 10)).containsExactly(renamed);
+        assertThat(index.suggest("hopper", null, 10)).isEmpty();
+    }
+
+    private static Suggestion member(String firstName, String middleName, String lastName) {
+        return Suggestion.member(UUID.randomUUID(), firstName, middleName, lastName);
+    }
+}
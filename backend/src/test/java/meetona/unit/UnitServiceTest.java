@@ -0,0 +1,82 @@
+package meetona.unit;
+
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.cache.IdFilters;
+import meetona.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(UnitService.class)
+class UnitServiceTest extends PostgresJpaTest {
+
+    @MockBean
+    private UnitMapper mapper;
+
+    @MockBean
+    private IdFilters idFilters;
+
+    @MockBean
+    private CacheGenerations cacheGenerations;
+
+    @MockBean
+    private EntityCounter entityCounter;
+
+    @MockBean
+    private UnitActionProducer unitActionProducer;
+
+    @Autowired
+    private UnitService unitService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() {
+        unit = unitRepository.save(Unit.builder().name("Unit").address("Address").build());
+        startCounting();
+    }
+
+    @Test
+    void updateIsOneStatement() {
+        unitService.update(unit.getId(), new UnitRequest("Renamed", "Elsewhere"));
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(unitRepository.findById(unit.getId())).get()
+                .extracting(Unit::getName, Unit::getVersion)
+                .containsExactly("Renamed", unit.getVersion() + 1);
+    }
+
+    @Test
+    void deleteIsOneStatement() {
+        unitService.delete(unit.getId());
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(unitRepository.existsById(unit.getId())).isFalse();
+    }
+
+    @Test
+    void updateOfMissingUnitIsNotFound() {
+        assertThatThrownBy(() -> unitService.update(UUID.randomUUID(), new UnitRequest("Renamed", "Elsewhere")))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteOfMissingUnitIsNotFound() {
+        assertThatThrownBy(() -> unitService.delete(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+}
@@ -0,0 +1,168 @@
+package meetona.user;
+
+import meetona.role.Role;
+import meetona.role.RoleRepository;
+import meetona.shared.PostgresJpaTest;
+import meetona.shared.cache.CacheGenerations;
+import meetona.shared.cache.EntityCounter;
+import meetona.shared.enums.AppRole;
+import meetona.shared.exception.ResourceNotFoundException;
+import meetona.shared.response.PagedResponse;
+import meetona.user.dtos.UserDto;
+import meetona.user.dtos.UserRequest;
+import meetona.user.security.RefreshTokens;
+import meetona.user.security.TokenProvider;
+import meetona.user.security.TokenRevocations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Users are projected without their roles, which are loaded for the whole page with one more
+ * query, so every read is two statements however many users it returns.
+ */
+@Import(UserService.class)
+class UserServiceTest extends PostgresJpaTest {
+
+    @MockBean
+    private UserMapper mapper;
+
+    @MockBean
+    private TokenProvider tokenProvider;
+
+    @MockBean
+    private RefreshTokens refreshTokens;
+
+    @MockBean
+    private TokenRevocations tokenRevocations;
+
+    @MockBean
+    private CacheGenerations cacheGenerations;
+
+    @MockBean
+    private EntityCounter entityCounter;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private UserActionProducer userActionProducer;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        Role user = roleRepository.save(Role.builder().name(AppRole.USER).description("User").build());
+        Role admin = roleRepository.save(Role.builder().name(AppRole.ADMIN).description("Admin").build());
+        users = userRepository.saveAll(List.of(user(1, user), user(2, user, admin), user(3, user)));
+        startCounting();
+    }
+
+    @Test
+    void getAllPageIsTwoStatements() {
+        var response = userService.getAll(PageRequest.of(0, 2), false);
+
+        assertThat(response.getData()).hasSize(2);
+        assertThat(response.getData()).allSatisfy(user -> assertThat(user.roles()).contains("USER"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getAllKeysetIsTwoStatementsPerPage() {
+        PagedResponse<UserDto> first = userService.getAll(null, 2).getData();
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        PagedResponse<UserDto> second = userService.getAll(first.getNextCursor(), 2).getData();
+
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.isLast()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void getByIdIsTwoStatements() {
+        UUID id = users.get(1).getId();
+
+        UserDto user = userService.getById(id).getData();
+
+        assertThat(user.id()).isEqualTo(id);
+        assertThat(user.roles()).containsExactlyInAnyOrder("USER", "ADMIN");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateIsTwoStatements() {
+        given(passwordEncoder.encode(anyString())).willReturn("hash");
+        UUID id = users.get(0).getId();
+
+        userService.update(id, new UserRequest("renamed", "renamed@example.com", "secret", Set.of("ADMIN"), null));
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(2);
+        assertThat(userService.getById(id).getData().roles()).containsExactly("ADMIN");
+    }
+
+    @Test
+    void deleteIsOneStatement() {
+        UUID id = users.get(1).getId();
+
+        userService.delete(id);
+
+        assertThat(statements.dml()).isEqualTo(statements.all()).hasSize(1);
+        assertThat(userRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void updateOfMissingUserIsNotFound() {
+        given(passwordEncoder.encode(anyString())).willReturn("hash");
+        var request = new UserRequest("renamed", "renamed@example.com", "secret", Set.of("ADMIN"), null);
+
+        assertThatThrownBy(() -> userService.update(UUID.randomUUID(), request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    @Test
+    void deleteOfMissingUserIsNotFound() {
+        assertThatThrownBy(() -> userService.delete(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.all()).hasSize(1);
+    }
+
+    private static User user(int n, Role... roles) {
+        return User.builder()
+                .username("user" + n)
+                .email("user" + n + "@example.com")
+                .password("hash")
+                .roles(List.of(roles))
+                .isEmailVerified(false)
+                .build();
+    }
+}
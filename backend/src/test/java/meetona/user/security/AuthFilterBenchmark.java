@@ -0,0 +1,151 @@
+package meetona.user.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of {@link AuthFilter} before and after single-parse verification:
+ * the previous filter, which built two parsers and verified the token twice, the current filter on
+ * a token it has not seen, and the current filter on a cached token. Run with {@code main} from the
+ * test classpath; not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef".repeat(8);
+
+    private String token;
+    private OncePerRequestFilter legacy;
+    private OncePerRequestFilter uncached;
+    private OncePerRequestFilter cached;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        var jwtProperty = new JwtProperty();
+        jwtProperty.setSecret(SECRET);
+        jwtProperty.setExpiration(3_600_000);
+
+        var uncachedProvider = new TokenProvider(jwtProperty, new SimpleMeterRegistry(), 0);
+        uncachedProvider.init();
+        var cachedProvider = new TokenProvider(jwtProperty, new SimpleMeterRegistry(), 10_000);
+        cachedProvider.init();
+        // Revocations are checked in memory only, so Redis and the bus are not needed here.
+        var revocations = new TokenRevocations(null, null, null, null, null, new SimpleMeterRegistry(), 10_000, 0.01);
+
+        token = cachedProvider.createToken(new UsernamePasswordAuthenticationToken(
+                "username", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+
+        legacy = new LegacyAuthFilter(SECRET);
+        uncached = new AuthFilter(uncachedProvider, revocations);
+        cached = new AuthFilter(cachedProvider, revocations);
+    }
+
+    /**
+     * Before: validate, then getAuthentication.
+     */
+    @Benchmark
+    public int before() throws ServletException, IOException {
+        return filter(legacy);
+    }
+
+    /**
+     * After, on a token not seen before: one parse.
+     */
+    @Benchmark
+    public int afterNotCached() throws ServletException, IOException {
+        return filter(uncached);
+    }
+
+    /**
+     * After, on a cached token: a digest lookup.
+     */
+    @Benchmark
+    public int afterCached() throws ServletException, IOException {
+        return filter(cached);
+    }
+
+    private int filter(OncePerRequestFilter filter) throws ServletException, IOException {
+        var request = new MockHttpServletRequest("GET", "/api/member");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        int authorities = SecurityContextHolder.getContext().getAuthentication().getAuthorities().size();
+        SecurityContextHolder.clearContext();
+        return authorities;
+    }
+
+    /**
+     * The filter as it was: a fresh parser and a full verification for each of the two calls.
+     */
+    private static final class LegacyAuthFilter extends OncePerRequestFilter {
+
+        private final SecretKeySpec key;
+
+        LegacyAuthFilter(String secret) {
+            this.key = new SecretKeySpec(secret.getBytes(), "HmacSHA512");
+        }
+
+        @Override
+        protected void doFilterInternal(
+                HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain
+        ) throws ServletException, IOException {
+            String token = request.getHeader(HttpHeaders.AUTHORIZATION).substring(7);
+
+            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+
+            Collection<? extends GrantedAuthority> authorities =
+                    AuthorityUtils.commaSeparatedStringToAuthorityList(claims.get("roles").toString());
+            var auth = new UsernamePasswordAuthenticationToken(new User(claims.getSubject(), "", authorities), token, authorities);
+            SecurityContextHolder.getContext().setAuthentication(auth);
+
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package meetona.user.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private static final RateLimitProperty.RouteGroup GROUP = RateLimitProperty.RouteGroup.OTHER;
+
+    @Test
+    void allowsTheCapacityThenReportsTheWait() {
+        var rateLimiter = rateLimiter(3, 1);
+
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isBetween(900L, 1_000L);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        var rateLimiter = rateLimiter(1, 100);
+
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isPositive();
+
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+    }
+
+    @Test
+    void limitsClientsAndGroupsSeparately() {
+        var rateLimiter = rateLimiter(1, 1);
+
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isZero();
+        assertThat(rateLimiter.tryAcquire(GROUP, "client")).isPositive();
+        assertThat(rateLimiter.tryAcquire(GROUP, "other")).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimitProperty.RouteGroup.ADMIN, "client")).isZero();
+    }
+
+    @Test
+    void grantsNoMoreThanTheCapacityUnderContention() throws InterruptedException {
+        var rateLimiter = rateLimiter(50, 0.001);
+        var granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 100; j++) {
+                    if (rateLimiter.tryAcquire(GROUP, "client") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted).hasValue(50);
+    }
+
+    private static LocalRateLimiter rateLimiter(int capacity, double refillPerSecond) {
+        var rateLimitProperty = new RateLimitProperty();
+        rateLimitProperty.setOther(new RateLimitProperty.Limit(capacity, refillPerSecond));
+        return new LocalRateLimiter(rateLimitProperty);
+    }
+}
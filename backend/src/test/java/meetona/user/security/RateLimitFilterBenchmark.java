@@ -0,0 +1,130 @@
+package meetona.user.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link RateLimitFilter} adds to a request: a filter doing nothing, the rate limit
+ * filter for an anonymous client and for a client with a cached token, and the bare
+ * {@link LocalRateLimiter}. Limits are set high enough that nothing is refused. Run with
+ * {@code main} from the test classpath; not part of the test suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef".repeat(8);
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private LocalRateLimiter rateLimiter;
+    private OncePerRequestFilter passThrough;
+    private OncePerRequestFilter filter;
+    private HttpServletRequest anonymous;
+    private HttpServletRequest authenticated;
+    private MockHttpServletResponse response;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        var jwtProperty = new JwtProperty();
+        jwtProperty.setSecret(SECRET);
+        jwtProperty.setExpiration(3_600_000);
+        var tokenProvider = new TokenProvider(jwtProperty, new SimpleMeterRegistry(), 10_000);
+        tokenProvider.init();
+
+        String token = tokenProvider.createToken(new UsernamePasswordAuthenticationToken(
+                "username", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        tokenProvider.authenticate(token);
+
+        var rateLimitProperty = new RateLimitProperty();
+        var unlimited = new RateLimitProperty.Limit(Integer.MAX_VALUE / 2, 1e9);
+        rateLimitProperty.setWhitelist(unlimited);
+        rateLimitProperty.setAdmin(unlimited);
+        rateLimitProperty.setOther(unlimited);
+
+        rateLimiter = new LocalRateLimiter(rateLimitProperty);
+        passThrough = new PassThroughFilter();
+        filter = new RateLimitFilter(rateLimiter, tokenProvider, rateLimitProperty, new SimpleMeterRegistry());
+        anonymous = request(null);
+        authenticated = request(token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public int noOpFilter() throws ServletException, IOException {
+        passThrough.doFilter(anonymous, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int rateLimitByAddress() throws ServletException, IOException {
+        filter.doFilter(anonymous, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int rateLimitByCachedToken() throws ServletException, IOException {
+        filter.doFilter(authenticated, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public long localRateLimiter() {
+        return rateLimiter.tryAcquire(RateLimitProperty.RouteGroup.ADMIN, "ip:127.0.0.1");
+    }
+
+    private static HttpServletRequest request(String token) {
+        var request = new MockHttpServletRequest("GET", "/api/member");
+        request.setServletPath("/api/member");
+        if (token != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static final class PassThroughFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(
+                HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain
+        ) throws ServletException, IOException {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
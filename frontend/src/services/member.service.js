@@ -23,8 +23,53 @@ const search = async (data) => {
   }
 }
 
+const find = async (query, cursor) => {
+  const params = new URLSearchParams({ q: query });
+
+  if (cursor) {
+    params.append("cursor", cursor);
+  }
+
+  return await http.get(`member/search?${params}`).then(response => {
+    return response.data;
+  });
+}
+
+const suggest = async (query, type) => {
+  const params = new URLSearchParams({ q: query });
+
+  if (type) {
+    params.append("type", type);
+  }
+
+  return await http.get(`member/suggest?${params}`).then(response => {
+    return response.data;
+  });
+}
+
+const celebrants = async (unitId, from, to) => {
+  const params = new URLSearchParams();
+
+  if (unitId) {
+    params.append("unitId", unitId);
+  }
+  if (from) {
+    params.append("from", from);
+  }
+  if (to) {
+    params.append("to", to);
+  }
+
+  return await http.get(`member/celebrants?${params}`).then(response => {
+    return response.data;
+  });
+}
+
 export const memberService = {
   create,
   getAll,
-  search
+  search,
+  find,
+  suggest,
+  celebrants
 }
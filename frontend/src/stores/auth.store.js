@@ -47,6 +47,11 @@ export const useAuthStore = defineStore({
     },
 
     async logout() {
+      const refreshToken = this.user?.data.refreshToken;
+
+      // Revokes the tokens on the server; the local session ends whether or not that succeeds.
+      await http.post("auth/logout", refreshToken ? { refreshToken } : undefined).catch(() => {});
+
       this.user = null;
       localStorage.removeItem('token');
       router.push('/login');